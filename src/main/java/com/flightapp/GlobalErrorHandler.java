@@ -17,7 +17,11 @@ import com.flightapp.exception.ExceptionDueToSeat;
 import com.flightapp.exception.ExceptionDuetoTiming;
 import com.flightapp.exception.FlightAlreadyExist;
 import com.flightapp.exception.FlightNotFoundException;
+import com.flightapp.exception.IdempotencyKeyException;
+import com.flightapp.exception.InvalidCursorException;
 import com.flightapp.exception.NotFoundException;
+import com.flightapp.exception.SeatCountConflictException;
+import com.flightapp.exception.ServiceBusyException;
 
 @RestControllerAdvice
 public class GlobalErrorHandler {
@@ -85,4 +89,32 @@ public class GlobalErrorHandler {
         error.put("error", ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST); 
     }
-}
\ No newline at end of file
+    
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFound(InvalidCursorException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST); 
+    }
+    
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFound(ServiceBusyException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE); 
+    }
+    
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFound(IdempotencyKeyException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY); 
+    }
+    
+    @ExceptionHandler(SeatCountConflictException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFound(SeatCountConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT); 
+    }
+}
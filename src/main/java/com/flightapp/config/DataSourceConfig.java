@@ -0,0 +1,45 @@
+package com.flightapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${flightapp.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${flightapp.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${flightapp.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Bean(autowireCandidate = false)
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties) {
+        DataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        DataSource replica = primary;
+        if (!replicaUrl.isBlank()) {
+            replica = DataSourceBuilder.create().type(HikariDataSource.class).url(replicaUrl)
+                    .username(replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername)
+                    .password(replicaPassword.isBlank() ? properties.determinePassword() : replicaPassword)
+                    .build();
+        }
+        // without a replica url, read-only transactions simply stay on the primary pool
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties) {
+        return new LazyConnectionDataSourceProxy(routingDataSource(properties));
+    }
+}
@@ -0,0 +1,42 @@
+package com.flightapp.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that keeps a read-only transaction on the primary, used
+ * while a caller's own write may not have reached the replica yet.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static Boolean forcePrimary() {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            FORCE_PRIMARY.remove();
+        } else {
+            FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+}
@@ -0,0 +1,164 @@
+package com.flightapp.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache regions held in bounded in-process maps, meant
+ * for small reference tables that are read on every request and rarely written.
+ * Regions belong to the session factory that built them, so a second factory in
+ * the same JVM (another persistence unit, a test context) never reads entries
+ * cached against a different schema. A full region evicts its least recently
+ * used entry, and entries expire after a TTL, so rows changed behind
+ * Hibernate's back (another node, a manual fix) are picked up again.
+ */
+public class InMemoryRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "flightapp.cache.max-entries-per-region";
+
+    public static final String TTL_SECONDS = "flightapp.cache.ttl-seconds";
+
+    private final Map<String, MapStorageAccess> regions = new ConcurrentHashMap<>();
+
+    private int maxEntries = 10_000;
+
+    private long ttlNanos = TimeUnit.MINUTES.toNanos(10);
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object configured = configValues.get(MAX_ENTRIES);
+        if (configured != null) {
+            maxEntries = Integer.parseInt(configured.toString().trim());
+        }
+        Object ttl = configValues.get(TTL_SECONDS);
+        if (ttl != null) {
+            ttlNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(ttl.toString().trim()));
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(MapStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return region(regionConfig.getRegionName(), maxEntries, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return region(regionName, maxEntries, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // update timestamps must outlive every query result they guard
+        return region(regionName, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private MapStorageAccess region(String name, int maxEntries, long ttlNanos) {
+        return regions.computeIfAbsent(name, n -> new MapStorageAccess(maxEntries, ttlNanos));
+    }
+
+    public static class MapStorageAccess implements DomainDataStorageAccess {
+
+        // access-ordered, so the eldest entry is the least recently used one
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final int maxEntries;
+
+        private final long ttlNanos;
+
+        MapStorageAccess(int maxEntries, long ttlNanos) {
+            this.maxEntries = maxEntries;
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        @Override
+        public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            long now = System.nanoTime();
+            entries.put(key, new Entry(value, ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttlNanos));
+            if (entries.size() > maxEntries) {
+                entries.values().removeIf(entry -> entry.isExpired(now));
+            }
+            var eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        @Override
+        public synchronized void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            entries.remove(key);
+        }
+
+        @Override
+        public synchronized void clearCache(SharedSessionContractImplementor session) {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            Entry entry = entries.get(key);
+            return entry != null && !entry.isExpired(System.nanoTime());
+        }
+
+        @Override
+        public synchronized void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public synchronized void release() {
+            entries.clear();
+        }
+
+        public synchronized int size() {
+            return entries.size();
+        }
+
+        public int maxSize() {
+            return maxEntries;
+        }
+
+        private record Entry(Object value, long expiresAt) {
+
+            boolean isExpired(long now) {
+                return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+            }
+        }
+    }
+}
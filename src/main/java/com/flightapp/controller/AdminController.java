@@ -0,0 +1,80 @@
+package com.flightapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.flightapp.dto.CacheStatsDto;
+import com.flightapp.dto.LockStatsDto;
+import com.flightapp.dto.RouteFilterStatsDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.EntityCacheStats;
+import com.flightapp.service.InventoryLockManager;
+import com.flightapp.service.RouteFilter;
+import com.flightapp.service.SearchCache;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SearchCache searchCache;
+
+    private final InventoryLockManager lockManager;
+
+    private final BookingService bookingService;
+
+    private final EntityCacheStats entityCacheStats;
+
+    private final RouteFilter routeFilter;
+
+    @GetMapping("/api/v1.0/flight/admin/stats/search-cache")
+    public ResponseEntity<CacheStatsDto> searchCacheStats() {
+        return ResponseEntity.ok(searchCache.stats());
+    }
+
+    @GetMapping("/api/v1.0/flight/admin/stats/flight-cache")
+    public ResponseEntity<CacheStatsDto> flightCacheStats() {
+        return ResponseEntity.ok(entityCacheStats.stats(Flight.CACHE_REGION));
+    }
+
+    @GetMapping("/api/v1.0/flight/admin/stats/route-filter")
+    public ResponseEntity<RouteFilterStatsDto> routeFilterStats() {
+        return ResponseEntity.ok(routeFilter.stats());
+    }
+
+    @GetMapping("/api/v1.0/flight/admin/stats/booking-locks")
+    public ResponseEntity<LockStatsDto> bookingLockStats() {
+        return ResponseEntity.ok(lockManager.stats());
+    }
+
+    @PostMapping("/api/v1.0/flight/admin/inventory/{inventoryId}/cancel")
+    public ResponseEntity<StreamingResponseBody> cancelInventory(@PathVariable Long inventoryId) {
+        bookingService.deactivateInventory(inventoryId);
+        // bookings are cancelled while the response streams, each page written once it has committed
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            bookingService.cancelBookingsForInventory(inventoryId, pnrs -> {
+                try {
+                    for (String pnr : pnrs) {
+                        writer.write(pnr);
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(body);
+    }
+}
@@ -2,14 +2,20 @@ package com.flightapp.controller;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.flightapp.dto.BulkInventoryRequestDto;
+import com.flightapp.dto.ImportReportDto;
 import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.InventoryRowResultDto;
+import com.flightapp.dto.ScheduleImportRequestDto;
 import com.flightapp.service.FlightInventoryService;
+import com.flightapp.service.ScheduleFileImporter;
 
 import jakarta.validation.Valid;
 
@@ -18,6 +24,8 @@ import jakarta.validation.Valid;
 public class AirlineInventoryController {
 
     private final FlightInventoryService inventoryService;
+    
+    private final ScheduleFileImporter scheduleImporter;
 
     @PostMapping("/api/v1.0/flight/airline/inventory/add")
     public ResponseEntity<Map<String, String>> addInventory(@Valid @RequestBody InventoryRequestDto dto) {
@@ -29,4 +37,14 @@ public class AirlineInventoryController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    @PostMapping("/api/v1.0/flight/airline/inventory/bulk")
+    public ResponseEntity<List<InventoryRowResultDto>> addInventoryBulk(@Valid @RequestBody BulkInventoryRequestDto dto) {
+        return ResponseEntity.ok(inventoryService.addInventoryBulk(dto.getInventories()));
+    }
+
+    @PostMapping("/api/v1.0/flight/airline/inventory/import")
+    public ResponseEntity<ImportReportDto> importSchedule(@Valid @RequestBody ScheduleImportRequestDto dto) {
+        return ResponseEntity.ok(scheduleImporter.importFile(dto.getFileName()));
+    }
 }
\ No newline at end of file
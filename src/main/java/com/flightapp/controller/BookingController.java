@@ -4,14 +4,19 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.flightapp.dto.BookingHistoryPageDto;
 import com.flightapp.dto.BookingRequestDto;
-import com.flightapp.entity.Booking;
+import com.flightapp.dto.SeatHoldDto;
+import com.flightapp.dto.SeatHoldRequestDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.service.BookingPipeline;
 import com.flightapp.service.BookingService;
+import com.flightapp.service.IdempotencyService;
+import com.flightapp.service.SeatHoldService;
 
 import jakarta.validation.Valid;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,22 +25,51 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    private final SeatHoldService seatHoldService;
+
+    private final BookingPipeline bookingPipeline;
+
+    private final IdempotencyService idempotencyService;
+
     @PostMapping("/api/v1.0/flight/booking/{flightId}")
-    public ResponseEntity<Booking> book(@PathVariable Long flightId,@Valid  @RequestBody BookingRequestDto dto) {
+    public ResponseEntity<TicketDto> book(@PathVariable Long flightId,@Valid  @RequestBody BookingRequestDto dto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+    	
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, flightId, dto, pnr -> bookingPipeline.book(flightId, dto, pnr)));
+    }
+
+    @PostMapping("/api/v1.0/flight/booking/hold/{flightId}")
+    public ResponseEntity<SeatHoldDto> hold(@PathVariable Long flightId, @Valid @RequestBody SeatHoldRequestDto dto) {
+    	
+        return ResponseEntity.ok(seatHoldService.hold(flightId, dto.getSeatNumbers()));
+    }
+
+    @PostMapping("/api/v1.0/flight/booking/hold/{holdId}/confirm")
+    public ResponseEntity<TicketDto> confirmHold(@PathVariable String holdId, @Valid @RequestBody BookingRequestDto dto) {
     	
-        return ResponseEntity.ok(bookingService.bookTicket(flightId, dto));
+        return ResponseEntity.ok(bookingService.confirmHold(holdId, dto));
+    }
+
+    @DeleteMapping("/api/v1.0/flight/booking/hold/{holdId}")
+    public ResponseEntity<Map<String, Object>> releaseHold(@PathVariable String holdId) {
+    	
+        seatHoldService.release(holdId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Seat hold released");
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/api/v1.0/flight/ticket/{pnr}")
-    public ResponseEntity<Booking> getTicket(@PathVariable String pnr) {
+    public ResponseEntity<TicketDto> getTicket(@PathVariable String pnr) {
     	
         return ResponseEntity.ok(bookingService.getByPnr(pnr));
     }
 
     @GetMapping("/api/v1.0/flight/booking/history/{email}")
-    public ResponseEntity<List<Booking>> history(@PathVariable String email) {
+    public ResponseEntity<BookingHistoryPageDto> history(@PathVariable String email,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String cursor) {
     	
-        return ResponseEntity.ok(bookingService.history(email));
+        return ResponseEntity.ok(bookingService.history(email, size, cursor));
     }
 
     @DeleteMapping("/api/v1.0/flight/booking/cancel/{pnr}")
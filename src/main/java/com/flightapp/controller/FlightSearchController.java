@@ -1,15 +1,22 @@
 package com.flightapp.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.flightapp.dto.ConnectingSearchRequestDto;
+import com.flightapp.dto.FareCalendarDayDto;
+import com.flightapp.dto.FlightSearchResultDto;
+import com.flightapp.dto.ItineraryDto;
 import com.flightapp.dto.SearchRequestDto;
-import com.flightapp.entity.FlightInventory;
+import com.flightapp.service.FareCalendarService;
 import com.flightapp.service.FlightInventoryService;
+import com.flightapp.service.PlaceAutocomplete;
 
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -19,8 +26,29 @@ public class FlightSearchController {
 
     private final FlightInventoryService inventoryService;
 
+    private final FareCalendarService fareCalendar;
+
+    private final PlaceAutocomplete autocomplete;
+
     @PostMapping("/api/v1.0/flight/search")
-    public ResponseEntity<Map<String, List<FlightInventory>>> search(@Valid @RequestBody SearchRequestDto dto) {
+    public ResponseEntity<Map<String, List<FlightSearchResultDto>>> search(@Valid @RequestBody SearchRequestDto dto) {
         return ResponseEntity.ok(inventoryService.searchFlights(dto));
     }
+
+    @PostMapping("/api/v1.0/flight/search/connecting")
+    public ResponseEntity<List<ItineraryDto>> searchConnecting(@Valid @RequestBody ConnectingSearchRequestDto dto) {
+        return ResponseEntity.ok(inventoryService.searchConnecting(dto));
+    }
+
+    @GetMapping("/api/v1.0/flight/search/calendar")
+    public ResponseEntity<List<FareCalendarDayDto>> calendar(@RequestParam String fromPlace, @RequestParam String toPlace,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(fareCalendar.calendar(fromPlace, toPlace, startDate, endDate));
+    }
+
+    @GetMapping("/api/v1.0/flight/search/places")
+    public ResponseEntity<List<String>> places(@RequestParam String prefix, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(autocomplete.suggest(prefix, limit));
+    }
 }
@@ -0,0 +1,15 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryPageDto {
+
+    private List<BookingHistoryRowDto> bookings;
+
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryRowDto {
+
+    private Long bookingId;
+
+    private String pnr;
+
+    private String flightNumber;
+
+    private String fromPlace;
+
+    private String toPlace;
+
+    private LocalDateTime departureTime;
+
+    private LocalDateTime bookingTime;
+
+    private Double totalPrice;
+
+    private int passengerCount;
+}
@@ -0,0 +1,15 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+public class BulkInventoryRequestDto {
+
+    @NotNull(message = "Inventories are required")
+    @Size(min = 1, max = 10000, message = "Between 1 and 10000 inventories can be added per request")
+    private List<InventoryRequestDto> inventories;
+}
@@ -0,0 +1,24 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private int size;
+
+    private int maxSize;
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
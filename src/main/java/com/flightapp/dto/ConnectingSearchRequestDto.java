@@ -0,0 +1,33 @@
+package com.flightapp.dto;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+import java.time.LocalDate;
+
+
+@Data
+public class ConnectingSearchRequestDto {
+
+    @NotBlank(message = "From place is required")
+    private String fromPlace;
+
+    @NotBlank(message = "To place is required")
+    private String toPlace;
+
+    @NotNull(message = "Journey date is required")
+    private LocalDate journeyDate;
+
+    @Min(value = 0, message = "Max stops cannot be negative")
+    @Max(value = 2, message = "At most 2 stops are supported")
+    private Integer maxStops;
+
+    @Min(value = 0, message = "Minimum connection time cannot be negative")
+    private Integer minConnectionMinutes;
+
+    @Pattern(regexp = "(?i)^(DURATION|PRICE)$", message = "Sort must be DURATION or PRICE")
+    private String sortBy;
+}
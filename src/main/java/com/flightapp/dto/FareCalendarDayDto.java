@@ -0,0 +1,23 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDayDto {
+
+    private LocalDate date;
+
+    private Double minPrice;
+
+    private Long availableSeats;
+
+    private Long departures;
+
+    public FareCalendarDayDto(Double minPrice, Long availableSeats, Long departures) {
+        this(null, minPrice, availableSeats, departures);
+    }
+}
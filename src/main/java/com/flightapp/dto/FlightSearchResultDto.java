@@ -0,0 +1,30 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchResultDto {
+
+    private Long inventoryId;
+
+    private String flightNumber;
+
+    private String airlineName;
+
+    private String fromPlace;
+
+    private String toPlace;
+
+    private LocalDateTime departureTime;
+
+    private LocalDateTime arrivalTime;
+
+    private Double price;
+
+    @With
+    private Integer availableSeats;
+}
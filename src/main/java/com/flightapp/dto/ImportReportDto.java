@@ -0,0 +1,21 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+public class ImportReportDto {
+
+    private long rows;
+
+    private long created;
+
+    private long duplicates;
+
+    private long invalid;
+
+    private long resumedFromOffset;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+}
@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRowResultDto {
+
+    private int row;
+
+    private String status;
+
+    private Long inventoryId;
+
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryDto {
+
+    private List<FlightSearchResultDto> legs;
+
+    private int stops;
+
+    private long durationMinutes;
+
+    private double totalPrice;
+}
@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockStatsDto {
+
+    private int stripes;
+
+    private long acquisitions;
+
+    private long timeouts;
+
+    private List<LockStripeStatsDto> activeStripes;
+}
@@ -0,0 +1,21 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockStripeStatsDto {
+
+    private int stripe;
+
+    private long acquisitions;
+
+    private long timeouts;
+
+    private long averageWaitMicros;
+
+    private long maxWaitMicros;
+
+    private int queueDepth;
+}
@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassengerViewDto {
+
+    private String name;
+
+    private String gender;
+
+    private Integer age;
+
+    private String seatNumber;
+
+    private String mealOption;
+}
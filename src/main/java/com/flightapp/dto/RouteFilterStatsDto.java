@@ -0,0 +1,15 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteFilterStatsDto {
+
+    private int routes;
+
+    private long checks;
+
+    private long rejections;
+}
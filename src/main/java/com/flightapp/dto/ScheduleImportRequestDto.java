@@ -0,0 +1,11 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Data
+public class ScheduleImportRequestDto {
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+}
@@ -0,0 +1,20 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDto {
+
+    private String holdId;
+
+    private Long inventoryId;
+
+    private List<String> seatNumbers;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,15 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+public class SeatHoldRequestDto {
+
+    @NotNull(message = "Seat numbers are required")
+    @Size(min = 1, message = "At least 1 seat number required")
+    private List<String> seatNumbers;
+}
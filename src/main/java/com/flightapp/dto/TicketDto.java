@@ -0,0 +1,44 @@
+package com.flightapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDto {
+
+    private String pnr;
+
+    private String email;
+
+    private LocalDateTime bookingTime;
+
+    private Long inventoryId;
+
+    private String flightNumber;
+
+    private String airlineName;
+
+    private String fromPlace;
+
+    private String toPlace;
+
+    private LocalDateTime departureTime;
+
+    private LocalDateTime arrivalTime;
+
+    private Double totalPrice;
+
+    private boolean cancelled;
+
+    private List<PassengerViewDto> passengers;
+
+    public TicketDto(String pnr, String email, LocalDateTime bookingTime, Long inventoryId, String flightNumber, String airlineName,
+            String fromPlace, String toPlace, LocalDateTime departureTime, LocalDateTime arrivalTime, Double totalPrice, boolean cancelled) {
+        this(pnr, email, bookingTime, inventoryId, flightNumber, airlineName, fromPlace, toPlace, departureTime, arrivalTime,
+                totalPrice, cancelled, null);
+    }
+}
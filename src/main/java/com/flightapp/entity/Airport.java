@@ -0,0 +1,29 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+@Entity
+@Table(name = "airports",
+		uniqueConstraints = {
+				@UniqueConstraint(name = "uk_airport_name_key", columnNames = "name_key"),
+				@UniqueConstraint(name = "uk_airport_code", columnNames = "code")
+		})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Airport {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer id;
+	
+	@Column(length = 3)
+	private String code;
+	
+	private String name;
+	
+	@Column(nullable = false)
+	private String nameKey;
+}
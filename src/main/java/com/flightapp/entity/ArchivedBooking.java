@@ -0,0 +1,44 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "bookings_archive",
+		uniqueConstraints = @UniqueConstraint(name = "uk_booking_archive_pnr", columnNames = "pnr"),
+		indexes = @Index(name = "idx_booking_archive_email_cancelled_time", columnList = "email, cancelled, booking_time"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedBooking {
+	@Id
+	private Long id;
+	
+	
+	private String pnr;
+	private String email;
+	private LocalDateTime bookingTime;
+	
+	
+	private LocalDateTime departureTime;
+	private LocalDateTime arrivalTime;
+	private LocalDateTime journeyDateTime;
+	
+	
+	private Double totalPrice;
+	private Integer passengerCount;
+	
+	
+	private boolean cancelled;
+	private LocalDateTime cancelledAt;
+	
+	private String flightNumber;
+	private Long inventoryId;
+	
+	private LocalDateTime archivedAt;
+}
@@ -0,0 +1,36 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "flight_inventory_archive",
+		indexes = @Index(name = "idx_inventory_archive_departure", columnList = "departure_time"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedFlightInventory {
+	
+	@Id
+	private Long id;
+	
+	private String flightNumber;
+	private String fromPlace;
+	private String toPlace;
+	private Integer fromAirportId;
+	private Integer toAirportId;
+	
+	private LocalDateTime departureTime;
+	private LocalDateTime arrivalTime;
+	private Double price;
+	private Integer totalSeats;
+	private Integer availableSeats;
+	private boolean active;
+	
+	private LocalDateTime archivedAt;
+}
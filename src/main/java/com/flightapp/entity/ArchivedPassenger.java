@@ -0,0 +1,24 @@
+package com.flightapp.entity;
+import jakarta.persistence.*;
+import lombok.*;
+
+
+@Entity
+@Table(name = "passengers_archive",
+		indexes = @Index(name = "idx_passenger_archive_booking", columnList = "booking_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedPassenger {
+	@Id
+	private Long id;
+	
+	private Long bookingId;
+	
+	private String name;
+	private String gender;
+	private Integer age;
+	private String seatNumber;
+	private String mealOption;
+}
@@ -2,6 +2,7 @@ package com.flightapp.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 
 import java.time.LocalDateTime;
@@ -9,12 +10,19 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+		uniqueConstraints = @UniqueConstraint(name = Booking.PNR_CONSTRAINT, columnNames = "pnr"),
+		indexes = {
+				@Index(name = "idx_booking_email_cancelled_time", columnList = "email, cancelled, booking_time"),
+				@Index(name = "idx_booking_inventory", columnList = "inventory_id")
+		})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Booking {
+	public static final String PNR_CONSTRAINT = "uk_booking_pnr";
+	
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -36,12 +44,13 @@ public class Booking {
 	private boolean cancelled = false;
 	private LocalDateTime cancelledAt;
 	
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "booking_id")
+	@BatchSize(size = 50)
 	private List<Passenger> passengers;
 	
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "flight_number")
 	private Flight flight;
 	
@@ -0,0 +1,33 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "fare_calendar_days",
+		uniqueConstraints = @UniqueConstraint(name = "uk_fare_calendar_route_date", columnNames = {"from_airport_id", "to_airport_id", "travel_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FareCalendarDay {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fare_calendar_day_seq")
+	@SequenceGenerator(name = "fare_calendar_day_seq", sequenceName = "fare_calendar_day_seq", allocationSize = 50)
+	private Long id;
+	
+	private Integer fromAirportId;
+	private Integer toAirportId;
+	private LocalDate travelDate;
+	
+	private Double minPrice;
+	private Long availableSeats;
+	private Long departures;
+	
+	private LocalDateTime updatedAt;
+}
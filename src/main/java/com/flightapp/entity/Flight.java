@@ -1,22 +1,30 @@
 package com.flightapp.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
 @Table(name = "flights")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = Flight.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Flight {
+	
+	public static final String CACHE_REGION = "flights";
+	
 	@Id
 	private String flightNumber; 
 	
 	private String airlineName;
 	private String fromPlace;
 	private String toPlace;
-}
\ No newline at end of file
+}
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "flight_inventory")
+@Table(name = "flight_inventory",
+		indexes = {
+				@Index(name = "idx_inventory_route_departure", columnList = "from_airport_id, to_airport_id, departure_time, active"),
+				@Index(name = "idx_inventory_departure", columnList = "departure_time")
+		})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,17 +20,41 @@ import java.time.LocalDateTime;
 public class FlightInventory {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_inventory_seq")
+	@SequenceGenerator(name = "flight_inventory_seq", sequenceName = "flight_inventory_seq", allocationSize = 50)
 	private Long id;
 		
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "flight_number")
 	private Flight flight; 
 	
+	private String fromPlace;
+	private String toPlace;
+	
+	private Integer fromAirportId;
+	private Integer toAirportId;
+	
 	private LocalDateTime departureTime;
 	private LocalDateTime arrivalTime;	
 	private Double price;
 	private Integer totalSeats;
+	
+	@Column(updatable = false)
 	private Integer availableSeats;
+	
+	@Builder.Default
 	private boolean active = true;
+	
+	@Version
+	private Long version;
+	
+	@PrePersist
+	void copyRouteFromFlight() {
+		if (flight != null && fromPlace == null) {
+			fromPlace = flight.getFromPlace();
+		}
+		if (flight != null && toPlace == null) {
+			toPlace = flight.getToPlace();
+		}
+	}
 }
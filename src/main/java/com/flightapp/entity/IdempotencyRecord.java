@@ -0,0 +1,40 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+	@Id
+	@Column(name = "idempotency_key", length = 64)
+	private String idempotencyKey;
+	
+	@Column(name = "flight_id", nullable = false)
+	private Long flightId;
+	
+	@Column(name = "request_hash", nullable = false, length = 64)
+	private String requestHash;
+	
+	@Column(nullable = false, length = 16)
+	private String pnr;
+	
+	@Lob
+	@Column(name = "response_body")
+	private String responseBody;
+	
+	@Column(nullable = false)
+	private boolean completed;
+	
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+	
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,34 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+@Entity
+@Table(name = "seat_assignments",
+		uniqueConstraints = @UniqueConstraint(name = "uk_seat_assignment_inventory_seat", columnNames = {"inventory_id", "seat_number"}),
+		indexes = {
+				@Index(name = "idx_seat_assignment_pnr", columnList = "pnr"),
+				@Index(name = "idx_seat_assignment_hold", columnList = "hold_id")
+		})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatAssignment {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_assignment_seq")
+	@SequenceGenerator(name = "seat_assignment_seq", sequenceName = "seat_assignment_seq", allocationSize = 50)
+	private Long id;
+	
+	@Column(name = "inventory_id", nullable = false)
+	private Long inventoryId;
+	
+	@Column(name = "seat_number", nullable = false, length = 8)
+	private String seatNumber;
+	
+	private String pnr;
+	
+	@Column(name = "hold_id", length = 36)
+	private String holdId;
+}
@@ -0,0 +1,31 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "seat_holds",
+		indexes = {
+				@Index(name = "idx_seat_hold_expires_at", columnList = "expires_at"),
+				@Index(name = "idx_seat_hold_inventory", columnList = "inventory_id")
+		})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHold {
+	@Id
+	@Column(name = "hold_id", length = 36)
+	private String holdId;
+	
+	@Column(name = "inventory_id", nullable = false)
+	private Long inventoryId;
+	
+	@Column(name = "seat_count", nullable = false)
+	private Integer seatCount;
+	
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,7 @@
+package com.flightapp.exception;
+
+public class SeatCountConflictException extends RuntimeException {
+    public SeatCountConflictException(String message) {
+        super(message);
+    }
+}
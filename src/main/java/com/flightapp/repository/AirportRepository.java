@@ -0,0 +1,12 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flightapp.entity.Airport;
+
+import java.util.Optional;
+
+
+public interface AirportRepository extends JpaRepository<Airport, Integer> {
+	Optional<Airport> findFirstByNameKeyOrCode(String nameKey, String code);
+}
@@ -0,0 +1,40 @@
+package com.flightapp.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.dto.BookingHistoryRowDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.entity.ArchivedBooking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+	@Modifying
+	@Query(value = "insert into bookings_archive (id, pnr, email, booking_time, departure_time, arrival_time, journey_date_time, total_price, passenger_count, "
+			+ "cancelled, cancelled_at, flight_number, inventory_id, archived_at) "
+			+ "select b.id, b.pnr, b.email, b.booking_time, b.departure_time, b.arrival_time, b.journey_date_time, b.total_price, "
+			+ "(select count(*) from passengers p where p.booking_id = b.id), b.cancelled, b.cancelled_at, b.flight_number, b.inventory_id, :archivedAt "
+			+ "from bookings b where b.inventory_id in (:inventoryIds)", nativeQuery = true)
+	int copyFromBookings(@Param("inventoryIds") Collection<Long> inventoryIds, @Param("archivedAt") LocalDateTime archivedAt);
+	
+	@Query("select new com.flightapp.dto.TicketDto(b.pnr, b.email, b.bookingTime, b.inventoryId, f.flightNumber, f.airlineName, f.fromPlace, f.toPlace, "
+			+ "b.departureTime, b.arrivalTime, b.totalPrice, b.cancelled) from ArchivedBooking b join Flight f on f.flightNumber = b.flightNumber where b.pnr = :pnr")
+	Optional<TicketDto> findTicketByPnr(@Param("pnr") String pnr);
+	
+	@Query("select new com.flightapp.dto.BookingHistoryRowDto(b.id, b.pnr, f.flightNumber, f.fromPlace, f.toPlace, b.departureTime, b.bookingTime, b.totalPrice, b.passengerCount) "
+			+ "from ArchivedBooking b join Flight f on f.flightNumber = b.flightNumber WHERE b.email = :email AND b.cancelled = false ORDER BY b.bookingTime DESC, b.id DESC")
+	List<BookingHistoryRowDto> findActiveBookingsByEmail(@Param("email") String email, Limit limit);
+	
+	@Query("select new com.flightapp.dto.BookingHistoryRowDto(b.id, b.pnr, f.flightNumber, f.fromPlace, f.toPlace, b.departureTime, b.bookingTime, b.totalPrice, b.passengerCount) "
+			+ "from ArchivedBooking b join Flight f on f.flightNumber = b.flightNumber WHERE b.email = :email AND b.cancelled = false "
+			+ "AND (b.bookingTime < :bookingTime OR (b.bookingTime = :bookingTime AND b.id < :id)) ORDER BY b.bookingTime DESC, b.id DESC")
+	List<BookingHistoryRowDto> findActiveBookingsByEmailBefore(@Param("email") String email, @Param("bookingTime") LocalDateTime bookingTime, @Param("id") Long id, Limit limit);
+}
@@ -0,0 +1,20 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.entity.ArchivedFlightInventory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedFlightInventoryRepository extends JpaRepository<ArchivedFlightInventory, Long> {
+	@Modifying
+	@Query(value = "insert into flight_inventory_archive (id, flight_number, from_place, to_place, from_airport_id, to_airport_id, departure_time, arrival_time, price, total_seats, available_seats, active, archived_at) "
+			+ "select fi.id, fi.flight_number, fi.from_place, fi.to_place, fi.from_airport_id, fi.to_airport_id, fi.departure_time, fi.arrival_time, fi.price, fi.total_seats, fi.available_seats, fi.active, :archivedAt "
+			+ "from flight_inventory fi where fi.id in (:ids)", nativeQuery = true)
+	int copyFromInventory(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,25 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.dto.PassengerViewDto;
+import com.flightapp.entity.ArchivedPassenger;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedPassengerRepository extends JpaRepository<ArchivedPassenger, Long> {
+	@Modifying
+	@Query(value = "insert into passengers_archive (id, booking_id, name, gender, age, seat_number, meal_option) "
+			+ "select p.id, p.booking_id, p.name, p.gender, p.age, p.seat_number, p.meal_option "
+			+ "from passengers p join bookings b on b.id = p.booking_id where b.inventory_id in (:inventoryIds)", nativeQuery = true)
+	int copyFromBookings(@Param("inventoryIds") Collection<Long> inventoryIds);
+	
+	@Query("select new com.flightapp.dto.PassengerViewDto(p.name, p.gender, p.age, p.seatNumber, p.mealOption) "
+			+ "from ArchivedPassenger p, ArchivedBooking b where p.bookingId = b.id and b.pnr = :pnr order by p.id")
+	List<PassengerViewDto> findPassengersByPnr(@Param("pnr") String pnr);
+}
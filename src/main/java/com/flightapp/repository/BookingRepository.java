@@ -1,10 +1,18 @@
 package com.flightapp.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import com.flightapp.dto.BookingHistoryRowDto;
+import com.flightapp.dto.PassengerViewDto;
+import com.flightapp.dto.TicketDto;
 import com.flightapp.entity.Booking;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -12,12 +20,39 @@ import org.springframework.data.repository.query.Param;
 
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+	@EntityGraph(attributePaths = "flight")
 	Optional<Booking> findByPnr(String pnr);
 	
-	@Query("SELECT b FROM Booking b WHERE b.email = :email AND b.cancelled = false ORDER BY b.bookingTime DESC")
-	List<Booking> findActiveBookingsByEmail(@Param("email") String email);
+	@Query("select b.inventoryId from Booking b where b.pnr = :pnr")
+	Optional<Long> findInventoryIdByPnr(@Param("pnr") String pnr);
 	
+	@Query("select b.id, b.pnr, b.email from Booking b where b.inventoryId = :inventoryId and b.cancelled = false order by b.id")
+	List<Object[]> findActiveByInventoryId(@Param("inventoryId") Long inventoryId, Limit limit);
 	
-	@Query("select p.seatNumber from Booking b join b.passengers p where b.flight.id = :flightId and b.cancelled = false")
-	List<String> getBookedSeats(@Param("flightId") Long flightId);
+	@Modifying
+	@Query("update Booking b set b.cancelled = true, b.cancelledAt = :cancelledAt where b.id in :ids and b.cancelled = false")
+	int cancelAllByIds(@Param("ids") Collection<Long> ids, @Param("cancelledAt") LocalDateTime cancelledAt);
+	
+	@Modifying
+	@Query(value = "delete from passengers where booking_id in (select b.id from bookings b where b.inventory_id in (:inventoryIds))", nativeQuery = true)
+	int deletePassengersByInventoryIds(@Param("inventoryIds") Collection<Long> inventoryIds);
+	
+	@Modifying
+	@Query("delete from Booking b where b.inventoryId in :inventoryIds")
+	int deleteByInventoryIds(@Param("inventoryIds") Collection<Long> inventoryIds);
+	
+	@Query("select new com.flightapp.dto.TicketDto(b.pnr, b.email, b.bookingTime, b.inventoryId, f.flightNumber, f.airlineName, f.fromPlace, f.toPlace, "
+			+ "b.departureTime, b.arrivalTime, b.totalPrice, b.cancelled) from Booking b join b.flight f where b.pnr = :pnr")
+	Optional<TicketDto> findTicketByPnr(@Param("pnr") String pnr);
+	
+	@Query("select new com.flightapp.dto.PassengerViewDto(p.name, p.gender, p.age, p.seatNumber, p.mealOption) from Booking b join b.passengers p where b.pnr = :pnr order by p.id")
+	List<PassengerViewDto> findPassengersByPnr(@Param("pnr") String pnr);
+	
+	@Query("select new com.flightapp.dto.BookingHistoryRowDto(b.id, b.pnr, f.flightNumber, f.fromPlace, f.toPlace, b.departureTime, b.bookingTime, b.totalPrice, size(b.passengers)) "
+			+ "from Booking b join b.flight f WHERE b.email = :email AND b.cancelled = false ORDER BY b.bookingTime DESC, b.id DESC")
+	List<BookingHistoryRowDto> findActiveBookingsByEmail(@Param("email") String email, Limit limit);
+	
+	@Query("select new com.flightapp.dto.BookingHistoryRowDto(b.id, b.pnr, f.flightNumber, f.fromPlace, f.toPlace, b.departureTime, b.bookingTime, b.totalPrice, size(b.passengers)) "
+			+ "from Booking b join b.flight f WHERE b.email = :email AND b.cancelled = false AND (b.bookingTime < :bookingTime OR (b.bookingTime = :bookingTime AND b.id < :id)) ORDER BY b.bookingTime DESC, b.id DESC")
+	List<BookingHistoryRowDto> findActiveBookingsByEmailBefore(@Param("email") String email, @Param("bookingTime") LocalDateTime bookingTime, @Param("id") Long id, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.dto.FareCalendarDayDto;
+import com.flightapp.entity.FareCalendarDay;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.repository.query.Param;
+
+public interface FareCalendarDayRepository extends JpaRepository<FareCalendarDay, Long> {
+	Optional<FareCalendarDay> findByFromAirportIdAndToAirportIdAndTravelDate(Integer fromAirportId, Integer toAirportId, LocalDate travelDate);
+	
+	@Query("select new com.flightapp.dto.FareCalendarDayDto(d.travelDate, d.minPrice, d.availableSeats, d.departures) from FareCalendarDay d "
+			+ "where d.fromAirportId = :from and d.toAirportId = :to and d.travelDate between :start and :end order by d.travelDate")
+	List<FareCalendarDayDto> findCalendar(@Param("from") int fromAirportId, @Param("to") int toAirportId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+	
+	@Query("select d.fromAirportId, d.toAirportId, d.travelDate from FareCalendarDay d where d.travelDate >= :from")
+	List<Object[]> findRouteDaysFrom(@Param("from") LocalDate from);
+}
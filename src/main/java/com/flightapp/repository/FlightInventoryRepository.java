@@ -1,21 +1,68 @@
 package com.flightapp.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import com.flightapp.dto.FareCalendarDayDto;
+import com.flightapp.dto.FlightSearchResultDto;
 import com.flightapp.entity.FlightInventory;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.repository.query.Param;
 
 public interface FlightInventoryRepository extends JpaRepository<FlightInventory, Long> {
-	@Query("select fi from FlightInventory fi where fi.flight.fromPlace = :from and fi.flight.toPlace = :to and fi.departureTime between :start and :end")
-	List<FlightInventory> findByFromPlaceAndToPlaceAndDepartureTimeBetween(@Param("from") String from, @Param("to") String to, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+	@EntityGraph(attributePaths = "flight")
+	Optional<FlightInventory> findWithFlightById(Long id);
 	
+	@Query("select new com.flightapp.dto.FlightSearchResultDto(fi.id, f.flightNumber, f.airlineName, fi.fromPlace, fi.toPlace, fi.departureTime, fi.arrivalTime, fi.price, fi.availableSeats) "
+			+ "from FlightInventory fi join fi.flight f where fi.fromAirportId = :from and fi.toAirportId = :to and fi.departureTime >= :start and fi.departureTime < :end and fi.active = true")
+	List<FlightSearchResultDto> findByRouteAndDepartureTimeBetween(@Param("from") int fromAirportId, @Param("to") int toAirportId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 	
-	@Query("select fi from FlightInventory fi where fi.flight.airlineName = :airline and fi.flight.flightNumber = :flightNumber and fi.flight.fromPlace = :from and fi.flight.toPlace = :to and fi.departureTime = :departure")
-	Optional<FlightInventory> findDuplicateFlight(@Param("airline") String airline, @Param("flightNumber") String flightNumber, @Param("from") String from, @Param("to") String to, @Param("departure") LocalDateTime departure);
+	
+	@Query("select fi from FlightInventory fi join fetch fi.flight where fi.departureTime >= :after and fi.active = true")
+	List<FlightInventory> findActiveDepartingAfter(@Param("after") LocalDateTime after);
+	
+	@Query("select distinct fi.fromAirportId, fi.toAirportId, cast(fi.departureTime as LocalDate) from FlightInventory fi "
+			+ "where fi.departureTime >= :after and fi.active = true")
+	List<Object[]> findActiveRouteDaysAfter(@Param("after") LocalDateTime after);
+	
+	@Query("select distinct fi.fromAirportId, fi.toAirportId from FlightInventory fi where fi.fromAirportId is not null and fi.toAirportId is not null")
+	List<Object[]> findDistinctRoutes();
+	
+	@Query("select new com.flightapp.dto.FareCalendarDayDto(min(case when fi.availableSeats > 0 then fi.price end), sum(fi.availableSeats), count(fi)) "
+			+ "from FlightInventory fi where fi.fromAirportId = :from and fi.toAirportId = :to and fi.departureTime >= :start and fi.departureTime < :end and fi.active = true")
+	FareCalendarDayDto aggregateDay(@Param("from") int fromAirportId, @Param("to") int toAirportId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+	
+	@Query("select fi from FlightInventory fi where fi.fromAirportId = :from and fi.toAirportId = :to and fi.departureTime = :departure and fi.flight.flightNumber = :flightNumber and fi.flight.airlineName = :airline")
+	Optional<FlightInventory> findDuplicateFlight(@Param("airline") String airline, @Param("flightNumber") String flightNumber, @Param("from") int fromAirportId, @Param("to") int toAirportId, @Param("departure") LocalDateTime departure);
+	
+	@Query("select fi from FlightInventory fi join fetch fi.flight f where f.flightNumber in :flightNumbers and fi.departureTime between :first and :last")
+	List<FlightInventory> findByFlightNumbersAndDepartureBetween(@Param("flightNumbers") Collection<String> flightNumbers, @Param("first") LocalDateTime first, @Param("last") LocalDateTime last);
+	
+	
+	@Modifying
+	@Query("update FlightInventory fi set fi.availableSeats = fi.availableSeats - :seats where fi.id = :id and fi.availableSeats >= :seats")
+	int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+	
+	@Modifying
+	@Query("update FlightInventory fi set fi.availableSeats = fi.availableSeats + :seats where fi.id = :id and fi.availableSeats + :seats <= fi.totalSeats")
+	int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+	
+	@Query("select fi.id from FlightInventory fi where fi.departureTime < :cutoff order by fi.id")
+	List<Long> findDepartedIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+	
+	@Modifying
+	@Query("delete from FlightInventory fi where fi.id in :ids")
+	int deleteByIds(@Param("ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query("update FlightInventory fi set fi.active = false, fi.availableSeats = fi.totalSeats where fi.id = :id")
+	int deactivate(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.flightapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
 import com.flightapp.entity.Flight;
 
+import java.util.List;
+
 
 public interface FlightRepository extends JpaRepository<Flight, String> {
+	@Query("select f.fromPlace from Flight f union select f.toPlace from Flight f")
+	List<String> findDistinctPlaces();
 }
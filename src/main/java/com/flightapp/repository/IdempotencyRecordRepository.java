@@ -0,0 +1,39 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.entity.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+	@Modifying
+	@Query(value = "insert into idempotency_records (idempotency_key, flight_id, request_hash, pnr, completed, created_at, expires_at) "
+			+ "values (:key, :flightId, :requestHash, :pnr, false, :createdAt, :expiresAt)", nativeQuery = true)
+	int claim(@Param("key") String key, @Param("flightId") Long flightId, @Param("requestHash") String requestHash, @Param("pnr") String pnr,
+			@Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+	
+	@Modifying
+	@Query("update IdempotencyRecord r set r.expiresAt = :expiresAt where r.idempotencyKey = :key and r.completed = false and r.expiresAt = :previous")
+	int takeOver(@Param("key") String key, @Param("previous") LocalDateTime previous, @Param("expiresAt") LocalDateTime expiresAt);
+	
+	@Modifying
+	@Query("update IdempotencyRecord r set r.responseBody = :body, r.completed = true, r.expiresAt = :expiresAt where r.idempotencyKey = :key")
+	int complete(@Param("key") String key, @Param("body") String body, @Param("expiresAt") LocalDateTime expiresAt);
+	
+	@Modifying
+	@Query("update IdempotencyRecord r set r.expiresAt = :now where r.idempotencyKey = :key and r.completed = false")
+	int release(@Param("key") String key, @Param("now") LocalDateTime now);
+	
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.completed = true and r.expiresAt < :now")
+	int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+	
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.expiresAt < :now and (r.completed = true or r.createdAt < :cutoff)")
+	int deleteExpired(@Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,43 @@
+package com.flightapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.entity.SeatAssignment;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.repository.query.Param;
+
+public interface SeatAssignmentRepository extends JpaRepository<SeatAssignment, Long> {
+	@Query("select s.seatNumber from SeatAssignment s where s.inventoryId = :inventoryId")
+	List<String> findSeatNumbersByInventoryId(@Param("inventoryId") Long inventoryId);
+	
+	@Query("select s.seatNumber from SeatAssignment s where s.pnr = :pnr")
+	List<String> findSeatNumbersByPnr(@Param("pnr") String pnr);
+	
+	@Query("select s.seatNumber from SeatAssignment s where s.holdId = :holdId")
+	List<String> findSeatNumbersByHoldId(@Param("holdId") String holdId);
+	
+	@Modifying
+	@Query("update SeatAssignment s set s.pnr = :pnr, s.holdId = null where s.holdId = :holdId")
+	int assignHold(@Param("holdId") String holdId, @Param("pnr") String pnr);
+	
+	@Modifying
+	@Query("delete from SeatAssignment s where s.holdId = :holdId")
+	int deleteByHoldId(@Param("holdId") String holdId);
+	
+	@Modifying
+	@Query("delete from SeatAssignment s where s.pnr = :pnr")
+	int deleteByPnr(@Param("pnr") String pnr);
+	
+	@Modifying
+	@Query("delete from SeatAssignment s where s.inventoryId = :inventoryId")
+	int deleteByInventoryId(@Param("inventoryId") Long inventoryId);
+	
+	@Modifying
+	@Query("delete from SeatAssignment s where s.inventoryId in :inventoryIds")
+	int deleteByInventoryIds(@Param("inventoryIds") Collection<Long> inventoryIds);
+}
@@ -0,0 +1,34 @@
+package com.flightapp.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.flightapp.entity.SeatHold;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.repository.query.Param;
+
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+	@Modifying
+	@Query("delete from SeatHold h where h.holdId = :holdId and h.expiresAt > :now")
+	int claim(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+	
+	@Modifying
+	@Query("delete from SeatHold h where h.holdId = :holdId")
+	int remove(@Param("holdId") String holdId);
+	
+	@Modifying
+	@Query("delete from SeatHold h where h.holdId = :holdId and h.expiresAt <= :now")
+	int expire(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+	
+	@Query("select h from SeatHold h where h.expiresAt <= :now order by h.expiresAt")
+	List<SeatHold> findExpired(@Param("now") LocalDateTime now, Limit limit);
+	
+	@Modifying
+	@Query("delete from SeatHold h where h.inventoryId = :inventoryId")
+	int deleteByInventoryId(@Param("inventoryId") Long inventoryId);
+}
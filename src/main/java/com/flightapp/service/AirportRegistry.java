@@ -0,0 +1,155 @@
+package com.flightapp.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.entity.Airport;
+import com.flightapp.repository.AirportRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Canonical integer ids for free-text places. Names and IATA codes are
+ * normalized and resolved against an immutable snapshot; registering a new
+ * place publishes a copied snapshot, and a periodic reload picks up places
+ * registered by other nodes.
+ */
+@Service
+public class AirportRegistry {
+
+    private static final String SEED = "airports.csv";
+
+    private final AirportRepository airportRepo;
+
+    private final TransactionTemplate newTransaction;
+
+    private volatile Map<String, Integer> ids = Map.of();
+
+    public AirportRegistry(AirportRepository airportRepo, PlatformTransactionManager transactionManager) {
+        this.airportRepo = airportRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void load() {
+        newTransaction.executeWithoutResult(status -> {
+            if (airportRepo.count() == 0) {
+                airportRepo.saveAll(readSeed());
+            }
+        });
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.airports.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<Airport> airports = newTransaction.execute(status -> airportRepo.findAll());
+        synchronized (this) {
+            // airports are never removed, so overlaying keeps places registered while the read ran
+            Map<String, Integer> next = new HashMap<>(ids);
+            airports.forEach(airport -> index(next, airport));
+            ids = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * Id of a known place, or null; never touches the database.
+     */
+    public Integer find(String place) {
+        String key = normalize(place);
+        return key.isEmpty() ? null : ids.get(key);
+    }
+
+    /**
+     * Id of the place, adding it to the airports table first when it is new.
+     */
+    public Integer register(String place) {
+        Integer id = find(place);
+        if (id != null || normalize(place).isEmpty()) {
+            return id;
+        }
+        String key = normalize(place);
+        synchronized (this) {
+            id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            Airport airport;
+            try {
+                airport = newTransaction.execute(status -> airportRepo.findFirstByNameKeyOrCode(key, key.toUpperCase(Locale.ROOT))
+                        .orElseGet(() -> airportRepo.saveAndFlush(Airport.builder().name(place.trim()).nameKey(key).build())));
+            } catch (DataIntegrityViolationException ex) {
+                // another node registered the same place between our lookup and insert
+                airport = newTransaction.execute(status -> airportRepo.findFirstByNameKeyOrCode(key, key.toUpperCase(Locale.ROOT)))
+                        .orElseThrow(() -> ex);
+            }
+            Map<String, Integer> next = new HashMap<>(ids);
+            index(next, airport);
+            ids = Map.copyOf(next);
+            return airport.getId();
+        }
+    }
+
+    public static String normalize(String place) {
+        if (place == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(place.length());
+        boolean space = false;
+        for (int i = 0; i < place.length(); i++) {
+            char c = place.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = key.length() > 0;
+            } else {
+                if (space) {
+                    key.append(' ');
+                    space = false;
+                }
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private static void index(Map<String, Integer> map, Airport airport) {
+        if (airport.getCode() != null) {
+            map.putIfAbsent(normalize(airport.getCode()), airport.getId());
+        }
+        // a city name wins over an unrelated code spelled the same way
+        map.put(airport.getNameKey(), airport.getId());
+    }
+
+    private static List<Airport> readSeed() {
+        List<Airport> airports = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource(SEED).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", 2);
+                String name = fields[1].trim();
+                airports.add(Airport.builder().code(fields[0].trim().toUpperCase(Locale.ROOT)).name(name).nameKey(normalize(name)).build());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read " + SEED, ex);
+        }
+        return airports;
+    }
+}
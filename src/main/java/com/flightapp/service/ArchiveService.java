@@ -0,0 +1,128 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.repository.ArchivedBookingRepository;
+import com.flightapp.repository.ArchivedFlightInventoryRepository;
+import com.flightapp.repository.ArchivedPassengerRepository;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves departed inventory, with its bookings and passengers, from the hot
+ * tables into the *_archive tables. Each chunk is copied with INSERT ... SELECT
+ * and deleted in one transaction, with a pause between chunks. The scheduled
+ * run holds a cluster-wide job lock, so only one node archives at a time.
+ */
+@Service
+public class ArchiveService {
+
+    private final FlightInventoryRepository inventoryRepo;
+
+    private final BookingRepository bookingRepo;
+
+    private final SeatAssignmentRepository seatAssignmentRepo;
+
+    private final ArchivedFlightInventoryRepository archivedInventoryRepo;
+
+    private final ArchivedBookingRepository archivedBookingRepo;
+
+    private final ArchivedPassengerRepository archivedPassengerRepo;
+
+    private final SeatMapService seatMapService;
+
+    private final InventoryLockProvider lockProvider;
+
+    private final RouteGraph routeGraph;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int afterDays;
+
+    private final int chunkSize;
+
+    private final long pauseMillis;
+
+    public ArchiveService(FlightInventoryRepository inventoryRepo, BookingRepository bookingRepo,
+            SeatAssignmentRepository seatAssignmentRepo, ArchivedFlightInventoryRepository archivedInventoryRepo,
+            ArchivedBookingRepository archivedBookingRepo, ArchivedPassengerRepository archivedPassengerRepo,
+            SeatMapService seatMapService, InventoryLockProvider lockProvider, RouteGraph routeGraph,
+            TransactionTemplate transactionTemplate,
+            @Value("${flightapp.archive.enabled:true}") boolean enabled,
+            @Value("${flightapp.archive.after-days:30}") int afterDays,
+            @Value("${flightapp.archive.chunk-size:200}") int chunkSize,
+            @Value("${flightapp.archive.pause-ms:200}") long pauseMillis) {
+        this.inventoryRepo = inventoryRepo;
+        this.bookingRepo = bookingRepo;
+        this.seatAssignmentRepo = seatAssignmentRepo;
+        this.archivedInventoryRepo = archivedInventoryRepo;
+        this.archivedBookingRepo = archivedBookingRepo;
+        this.archivedPassengerRepo = archivedPassengerRepo;
+        this.seatMapService = seatMapService;
+        this.lockProvider = lockProvider;
+        this.routeGraph = routeGraph;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${flightapp.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            lockProvider.runExclusive("archive", this::archiveDeparted);
+        }
+    }
+
+    public int archiveDeparted() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int archived = 0;
+        while (true) {
+            List<Long> ids = inventoryRepo.findDepartedIds(cutoff, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> archiveChunk(ids));
+            ids.forEach(seatMapService::evict);
+            routeGraph.remove(ids);
+            archived += ids.size();
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private void archiveChunk(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        archivedInventoryRepo.copyFromInventory(ids, now);
+        archivedBookingRepo.copyFromBookings(ids, now);
+        archivedPassengerRepo.copyFromBookings(ids);
+
+        bookingRepo.deletePassengersByInventoryIds(ids);
+        seatAssignmentRepo.deleteByInventoryIds(ids);
+        bookingRepo.deleteByInventoryIds(ids);
+        inventoryRepo.deleteByIds(ids);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
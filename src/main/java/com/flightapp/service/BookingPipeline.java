@@ -0,0 +1,179 @@
+package com.flightapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.exception.ServiceBusyException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entry point for new bookings. In {@code pipeline} mode every inventory id is
+ * routed to one partition served by a single worker thread, which commits the
+ * queued bookings in small groups instead of letting them contend on the row.
+ * A request is taken by either the worker or a caller that gave up waiting,
+ * never both, so a timed-out booking is never committed behind the caller's back.
+ */
+@Service
+public class BookingPipeline {
+
+    private final BookingService bookingService;
+
+    private final boolean enabled;
+
+    private final int partitionCount;
+
+    private final int batchSize;
+
+    private final int queueCapacity;
+
+    private final long timeoutMillis;
+
+    private final List<BlockingQueue<BookingRequest>> partitions = new ArrayList<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public BookingPipeline(BookingService bookingService,
+            @Value("${flightapp.booking.mode:direct}") String mode,
+            @Value("${flightapp.booking.pipeline.partitions:8}") int partitionCount,
+            @Value("${flightapp.booking.pipeline.batch-size:16}") int batchSize,
+            @Value("${flightapp.booking.pipeline.queue-capacity:1000}") int queueCapacity,
+            @Value("${flightapp.booking.pipeline.timeout-ms:10000}") long timeoutMillis) {
+        this.bookingService = bookingService;
+        this.enabled = "pipeline".equalsIgnoreCase(mode);
+        this.partitionCount = partitionCount;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<BookingRequest> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> drain(queue), "booking-partition-" + i);
+            worker.setDaemon(true);
+            partitions.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    public TicketDto book(Long flightId, BookingRequestDto dto) {
+        return book(flightId, dto, null);
+    }
+
+    public TicketDto book(Long flightId, BookingRequestDto dto, String pnr) {
+        if (!enabled) {
+            return bookingService.bookTicket(flightId, dto, pnr);
+        }
+
+        BookingRequest request = new BookingRequest(flightId, dto, pnr, new CompletableFuture<>(), new AtomicBoolean());
+        if (!partitions.get(Math.floorMod(flightId, partitionCount)).offer(request)) {
+            throw new ServiceBusyException("Booking queue is full, please retry");
+        }
+        while (true) {
+            try {
+                return result(request, timeoutMillis);
+            } catch (TimeoutException ex) {
+                if (request.taken().compareAndSet(false, true)) {
+                    // the worker has not started it, so it will be skipped and a retry cannot book twice
+                    request.result().cancel(false);
+                    throw new ServiceBusyException("Booking timed out, please retry");
+                }
+                // already inside a group transaction, which the lock timeout bounds, so wait for its outcome
+            }
+        }
+    }
+
+    private static TicketDto result(BookingRequest request, long timeoutMillis) throws TimeoutException {
+        try {
+            return request.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Booking interrupted, please retry");
+        }
+    }
+
+    private void drain(BlockingQueue<BookingRequest> queue) {
+        List<BookingRequest> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            Map<Long, List<BookingRequest>> groups = new LinkedHashMap<>();
+            for (BookingRequest request : batch) {
+                if (request.taken().compareAndSet(false, true)) {
+                    groups.computeIfAbsent(request.flightId(), id -> new ArrayList<>()).add(request);
+                }
+            }
+            groups.forEach(this::commit);
+            batch.clear();
+        }
+    }
+
+    private void commit(Long flightId, List<BookingRequest> batch) {
+        List<TicketDto> tickets;
+        try {
+            tickets = bookingService.bookAll(flightId, batch.stream().map(BookingRequest::dto).toList(),
+                    batch.stream().map(BookingRequest::pnr).toList());
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            // one bad request rolls the whole group back, so replay each on its own
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(tickets.get(i));
+        }
+    }
+
+    private void commitAlone(BookingRequest request) {
+        try {
+            request.result().complete(bookingService.bookTicket(request.flightId(), request.dto(), request.pnr()));
+        } catch (RuntimeException ex) {
+            request.result().completeExceptionally(ex);
+        }
+    }
+
+    private record BookingRequest(Long flightId, BookingRequestDto dto, String pnr, CompletableFuture<TicketDto> result, AtomicBoolean taken) {
+    }
+}
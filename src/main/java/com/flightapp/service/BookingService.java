@@ -1,65 +1,294 @@
 package com.flightapp.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.flightapp.dto.BookingHistoryPageDto;
+import com.flightapp.dto.BookingHistoryRowDto;
 import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerViewDto;
+import com.flightapp.dto.SeatHoldDto;
+import com.flightapp.dto.TicketDto;
 import com.flightapp.entity.Booking;
 import com.flightapp.entity.FlightInventory;
 import com.flightapp.entity.Passenger;
+import com.flightapp.entity.SeatAssignment;
 import com.flightapp.exception.ExceptionDueToSeat;
 import com.flightapp.exception.ExceptionDuetoTiming;
+import com.flightapp.exception.InvalidCursorException;
 import com.flightapp.exception.NotFoundException;
+import com.flightapp.exception.SeatCountConflictException;
+import com.flightapp.repository.ArchivedBookingRepository;
+import com.flightapp.repository.ArchivedPassengerRepository;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
 
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final int PNR_ATTEMPTS = 3;
+
+    private static final Comparator<BookingHistoryRowDto> HISTORY_ORDER = Comparator
+            .comparing(BookingHistoryRowDto::getBookingTime, Comparator.reverseOrder())
+            .thenComparing(BookingHistoryRowDto::getBookingId, Comparator.reverseOrder());
+
     private final FlightInventoryRepository inventoryRepo;
     
     private final BookingRepository bookingRepo;
     
+    private final SeatAssignmentRepository seatAssignmentRepo;
+    
+    private final ArchivedBookingRepository archivedBookingRepo;
+    
+    private final ArchivedPassengerRepository archivedPassengerRepo;
+    
+    private final SeatMapService seatMapService;
+    
+    private final SearchCache searchCache;
+    
+    private final RouteGraph routeGraph;
+    
+    private final FareCalendarService fareCalendar;
+    
+    private final ReadYourWrites readYourWrites;
+    
+    private final PnrGenerator pnrGenerator;
+    
+    private final SeatHoldService seatHoldService;
+    
+    private final InventoryLockManager lockManager;
+    
+    private final InventoryLockProvider lockProvider;
     
-    @Transactional
-    public Booking bookTicket(Long flightId, BookingRequestDto dto) {
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${flightapp.history.page-size:20}")
+    private int historyPageSize;
+    
+    @Value("${flightapp.history.max-page-size:100}")
+    private int historyMaxPageSize;
+    
+    @Value("${flightapp.inventory-cancel.page-size:500}")
+    private int cancelPageSize;
+    
+    
+    public TicketDto bookTicket(Long flightId, BookingRequestDto dto) {
+        return bookTicket(flightId, dto, null);
+    }
+
+    /**
+     * Books under the given PNR, or a freshly generated one when it is {@code null}.
+     */
+    public TicketDto bookTicket(Long flightId, BookingRequestDto dto, String pnr) {
+        if (pnr != null) {
+            // a given PNR that already exists is a retry of a committed booking, never a fresh collision
+            return withLocks(flightId, () -> transactionTemplate.execute(status -> reserveAndBook(flightId, dto, pnr)));
+        }
+        return retryOnPnrCollision(() -> withLocks(flightId, () -> transactionTemplate.execute(status -> reserveAndBook(flightId, dto, null))));
+    }
+
+    /**
+     * Books a group of requests on one departure in a single transaction, holding
+     * the inventory locks until it commits. {@code pnrs} is parallel to
+     * {@code dtos} and may hold {@code null} for requests without a PNR.
+     */
+    public List<TicketDto> bookAll(Long flightId, List<BookingRequestDto> dtos, List<String> pnrs) {
+        return withLocks(flightId, () -> transactionTemplate.execute(status -> IntStream.range(0, dtos.size())
+                .mapToObj(i -> reserveAndBook(flightId, dtos.get(i), pnrs.get(i)))
+                .toList()));
+    }
+
+    /**
+     * Reads a booking on the primary, so one that has only just committed is not missed.
+     */
+    public Optional<TicketDto> findBooked(String pnr) {
+        return transactionTemplate.execute(status -> bookingRepo.findTicketByPnr(pnr).map(ticket -> {
+            ticket.setPassengers(bookingRepo.findPassengersByPnr(pnr));
+            return ticket;
+        }));
+    }
+
+    public TicketDto confirmHold(String holdId, BookingRequestDto dto) {
+        Long inventoryId = seatHoldService.get(holdId).getInventoryId();
+        // a rolled-back attempt puts the hold back, so a PNR collision can be retried here too
+        return retryOnPnrCollision(() -> withLocks(inventoryId, () -> transactionTemplate.execute(status -> claimAndBook(holdId, dto))));
+    }
+
+    public void cancelBooking(String pnr) {
+        Long inventoryId = bookingRepo.findInventoryIdByPnr(pnr).orElseThrow(() -> new NotFoundException("PNR not found"));
+        withLocks(inventoryId, () -> transactionTemplate.execute(status -> {
+            cancel(pnr);
+            return null;
+        }));
+    }
+
+    /**
+     * Takes a departure the airline has dropped off sale: deactivates it, frees
+     * its seat assignments and drops the seat holds on it. Its bookings are then
+     * cancelled by {@link #cancelBookingsForInventory}.
+     */
+    public void deactivateInventory(Long inventoryId) {
+        withLocks(inventoryId, () -> transactionTemplate.execute(status -> {
+            FlightInventory flight = inventoryRepo.findWithFlightById(inventoryId).orElseThrow(() -> new NotFoundException("Flight not found"));
+
+            seatHoldService.releaseAll(inventoryId);
+            seatAssignmentRepo.deleteByInventoryId(inventoryId);
+            inventoryRepo.deactivate(inventoryId);
+
+            TransactionCallbacks.afterCommit(() -> {
+                seatMapService.evict(inventoryId);
+                routeGraph.remove(List.of(inventoryId));
+                fareCalendar.markDirty(flight.getFromAirportId(), flight.getToAirportId(), flight.getDepartureTime().toLocalDate());
+                searchCache.invalidate(flight.getFromAirportId(), flight.getToAirportId(), flight.getDepartureTime().toLocalDate());
+            });
+            return null;
+        }));
+    }
+
+    /**
+     * Cancels the active bookings on a deactivated departure one page per
+     * transaction, handing each page of PNRs to {@code cancelled} once it has
+     * committed. A run that fails part way is resumed by calling it again.
+     */
+    public int cancelBookingsForInventory(Long inventoryId, Consumer<List<String>> cancelled) {
+        int total = 0;
+        while (true) {
+            List<String> pnrs = withLocks(inventoryId, () -> transactionTemplate.execute(status -> cancelPage(inventoryId)));
+            if (!pnrs.isEmpty()) {
+                cancelled.accept(pnrs);
+            }
+            total += pnrs.size();
+            if (pnrs.size() < cancelPageSize) {
+                return total;
+            }
+        }
+    }
+
+    private List<String> cancelPage(Long inventoryId) {
+        List<Object[]> rows = bookingRepo.findActiveByInventoryId(inventoryId, Limit.of(cancelPageSize));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        bookingRepo.cancelAllByIds(rows.stream().map(row -> (Long) row[0]).toList(), LocalDateTime.now());
+        TransactionCallbacks.afterCommit(() -> rows.forEach(row -> {
+            readYourWrites.written((String) row[1]);
+            readYourWrites.written((String) row[2]);
+        }));
+        return rows.stream().map(row -> (String) row[1]).toList();
+    }
+
+    private static TicketDto retryOnPnrCollision(Supplier<TicketDto> booking) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return booking.get();
+            } catch (DataIntegrityViolationException ex) {
+                // a restart within a borrowed second can hand out a PNR again; the rollback freed everything else
+                if (attempt == PNR_ATTEMPTS || !isPnrCollision(ex)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static boolean isPnrCollision(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Booking.PNR_CONSTRAINT);
+    }
 
-        FlightInventory flight = inventoryRepo.findById(flightId).orElseThrow(() -> new NotFoundException("Flight not found"));
+    private <T> T withLocks(Long inventoryId, Supplier<T> action) {
+        // queue locally first so only one thread per flight holds a connection waiting on the cluster lock
+        return lockManager.withLock(inventoryId, () -> lockProvider.withLock(inventoryId, action));
+    }
+
+    private TicketDto reserveAndBook(Long flightId, BookingRequestDto dto, String pnr) {
+
+        FlightInventory flight = inventoryRepo.findWithFlightById(flightId).orElseThrow(() -> new NotFoundException("Flight not found"));
 
         if (flight.getAvailableSeats() < dto.getNumberOfSeats()) {
             throw new ExceptionDueToSeat("Not enough seats available");
         }
         
-        List<String> bookedSeats = bookingRepo.getBookedSeats(flightId);
-
         if (dto.getSeatNumbers().size() != dto.getPassengers().size()) {
             throw new ExceptionDueToSeat("Seat numbers count must match passenger count");
         }
         
-        for (String seat : dto.getSeatNumbers()) {
-            if (bookedSeats.contains(seat)) {
-                throw new ExceptionDueToSeat("Seat " + seat + " is already booked");
-            }
-        }
-        Set<String> uniqueSeats = new HashSet<>(dto.getSeatNumbers());
-        if (uniqueSeats.size() != dto.getSeatNumbers().size()) {
-            throw new ExceptionDueToSeat("Duplicate seat numbers in the request");
+        seatMapService.reserve(flightId, dto.getSeatNumbers());
+        
+        return book(flight, dto, pnr, null);
+    }
+
+    private TicketDto claimAndBook(String holdId, BookingRequestDto dto) {
+
+        SeatHoldDto hold = seatHoldService.get(holdId);
+
+        Set<String> requested = dto.getSeatNumbers().stream().map(seat -> seat.toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+        if (dto.getSeatNumbers().size() != hold.getSeatNumbers().size() || !requested.equals(Set.copyOf(hold.getSeatNumbers()))) {
+            throw new ExceptionDueToSeat("Seat numbers must match the held seats");
         }
         
-        flight.setAvailableSeats(flight.getAvailableSeats() - dto.getNumberOfSeats());
-        inventoryRepo.save(flight);
+        if (dto.getSeatNumbers().size() != dto.getPassengers().size()) {
+            throw new ExceptionDueToSeat("Seat numbers count must match passenger count");
+        }
+
+        FlightInventory flight = inventoryRepo.findWithFlightById(hold.getInventoryId()).orElseThrow(() -> new NotFoundException("Flight not found"));
+
+        return book(flight, dto, null, holdId);
+    }
+
+    /**
+     * Books the requested seats, or with {@code holdId} the seats of that hold,
+     * which were already assigned and counted when it was taken.
+     */
+    private TicketDto book(FlightInventory flight, BookingRequestDto dto, String requestedPnr, String holdId) {
+
+        if (!flight.isActive()) {
+            throw new NotFoundException("Flight not found");
+        }
+
+        Long flightId = flight.getId();
 
+        String pnr = requestedPnr != null ? requestedPnr : pnrGenerator.next();
         
-        String pnr = "PNR" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        int seatsTaken = 0;
+        if (holdId != null) {
+            seatHoldService.claim(holdId, pnr);
+        } else {
+            assignSeats(flightId, pnr, dto.getSeatNumbers());
+            if (inventoryRepo.reserveSeats(flightId, dto.getNumberOfSeats()) == 0) {
+                throw new ExceptionDueToSeat("Not enough seats available");
+            }
+            seatsTaken = dto.getNumberOfSeats();
+        }
+        int delta = -seatsTaken;
+        TransactionCallbacks.afterCommit(() -> {
+            searchCache.adjustSeats(flight.getFromAirportId(), flight.getToAirportId(), flight.getDepartureTime().toLocalDate(), flightId, delta);
+            routeGraph.adjustSeats(flightId, delta);
+            fareCalendar.markDirty(flight.getFromAirportId(), flight.getToAirportId(), flight.getDepartureTime().toLocalDate());
+            readYourWrites.written(pnr);
+            readYourWrites.written(dto.getEmail());
+        });
 
         
         List<Passenger> passengers = dto.getPassengers().stream()
@@ -77,31 +306,59 @@ public class BookingService {
                 .flight(flight.getFlight()).inventoryId(flight.getId()).totalPrice(totalPrice)
                 .passengers(passengers).cancelled(false).build();
 
-        return bookingRepo.save(booking);
+        return toTicket(bookingRepo.save(booking));
     }
 
-    public Booking getByPnr(String pnr) {
-        Booking booking = bookingRepo.findByPnr(pnr).orElseThrow(() -> new NotFoundException("PNR not found"));
+    @Transactional(readOnly = true)
+    public TicketDto getByPnr(String pnr) {
+        return readYourWrites.read(pnr, () -> findTicket(pnr));
+    }
 
-        if (booking.isCancelled()) {
+    @Transactional(readOnly = true)
+    public BookingHistoryPageDto history(String email, Integer size, String cursor) {
+        return readYourWrites.read(email, () -> findHistory(email, size, cursor));
+    }
+
+    private TicketDto findTicket(String pnr) {
+        TicketDto ticket = bookingRepo.findTicketByPnr(pnr).orElse(null);
+        boolean archived = ticket == null;
+        if (archived) {
+            ticket = archivedBookingRepo.findTicketByPnr(pnr).orElseThrow(() -> new NotFoundException("PNR not found"));
+        }
+
+        if (ticket.isCancelled()) {
             throw new NotFoundException("This ticket has been cancelled");
         }
 
-        return booking;
+        ticket.setPassengers(archived ? archivedPassengerRepo.findPassengersByPnr(pnr) : bookingRepo.findPassengersByPnr(pnr));
+        return ticket;
     }
 
-    public List<Booking> history(String email) {
-        List<Booking> list = bookingRepo.findActiveBookingsByEmail(email);
+    private BookingHistoryPageDto findHistory(String email, Integer size, String cursor) {
+        int pageSize = size == null ? historyPageSize : Math.max(1, Math.min(size, historyMaxPageSize));
+        Limit limit = Limit.of(pageSize + 1);
 
-        if (list.isEmpty()) {
-            throw new NotFoundException("No booking history found for: " + email);
+        List<BookingHistoryRowDto> list;
+        if (cursor == null || cursor.isBlank()) {
+            list = newestFirst(bookingRepo.findActiveBookingsByEmail(email, limit),
+                    archivedBookingRepo.findActiveBookingsByEmail(email, limit), pageSize + 1);
+            if (list.isEmpty()) {
+                throw new NotFoundException("No booking history found for: " + email);
+            }
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            list = newestFirst(bookingRepo.findActiveBookingsByEmailBefore(email, after.bookingTime(), after.id(), limit),
+                    archivedBookingRepo.findActiveBookingsByEmailBefore(email, after.bookingTime(), after.id(), limit), pageSize + 1);
         }
 
-        return list;
+        if (list.size() <= pageSize) {
+            return new BookingHistoryPageDto(list, null);
+        }
+        BookingHistoryRowDto last = list.get(pageSize - 1);
+        return new BookingHistoryPageDto(list.subList(0, pageSize), new HistoryCursor(last.getBookingTime(), last.getBookingId()).encode());
     }
     
-    @Transactional
-    public void cancelBooking(String pnr) {
+    private void cancel(String pnr) {
 
         Booking booking = bookingRepo.findByPnr(pnr).orElseThrow(() -> new NotFoundException("PNR not found"));
 
@@ -117,9 +374,72 @@ public class BookingService {
         booking.setCancelledAt(LocalDateTime.now());
         bookingRepo.save(booking);
 
-        FlightInventory fi = inventoryRepo.findById(booking.getInventoryId()).orElseThrow(() -> new NotFoundException("Inventory not found"));
+        List<String> seats = seatAssignmentRepo.findSeatNumbersByPnr(pnr);
+        seatAssignmentRepo.deleteByPnr(pnr);
+
+        int released = inventoryRepo.releaseSeats(booking.getInventoryId(), seats.size());
+        FlightInventory flight = inventoryRepo.findById(booking.getInventoryId()).orElseThrow(() -> new NotFoundException("Inventory not found"));
+        // a deactivated departure already had its count reset to the total; on a live one the counts have drifted
+        if (released == 0 && flight.isActive()) {
+            throw new SeatCountConflictException("Seat counts disagree for flight " + booking.getInventoryId()
+                    + ": releasing " + seats.size() + " seats would exceed its total");
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            seatMapService.release(booking.getInventoryId(), seats);
+            searchCache.adjustSeats(flight.getFromAirportId(), flight.getToAirportId(), booking.getDepartureTime().toLocalDate(), booking.getInventoryId(), seats.size());
+            routeGraph.adjustSeats(booking.getInventoryId(), seats.size());
+            fareCalendar.markDirty(flight.getFromAirportId(), flight.getToAirportId(), booking.getDepartureTime().toLocalDate());
+            readYourWrites.written(pnr);
+            readYourWrites.written(booking.getEmail());
+        });
+    }
+    
+    private static List<BookingHistoryRowDto> newestFirst(List<BookingHistoryRowDto> hot, List<BookingHistoryRowDto> archived, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        // archived rows keep their original ids, so both tables share one keyset order
+        return Stream.concat(hot.stream(), archived.stream())
+                .sorted(HISTORY_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private TicketDto toTicket(Booking booking) {
+        List<PassengerViewDto> passengers = booking.getPassengers().stream()
+                .map(p -> new PassengerViewDto(p.getName(), p.getGender(), p.getAge(), p.getSeatNumber(), p.getMealOption()))
+                .toList();
+        return new TicketDto(booking.getPnr(), booking.getEmail(), booking.getBookingTime(), booking.getInventoryId(),
+                booking.getFlight().getFlightNumber(), booking.getFlight().getAirlineName(), booking.getFlight().getFromPlace(),
+                booking.getFlight().getToPlace(), booking.getDepartureTime(), booking.getArrivalTime(), booking.getTotalPrice(),
+                booking.isCancelled(), passengers);
+    }
+    
+    private void assignSeats(Long inventoryId, String pnr, List<String> seatNumbers) {
+        List<SeatAssignment> assignments = seatNumbers.stream()
+                .map(seat -> SeatAssignment.builder().inventoryId(inventoryId).seatNumber(seat.toUpperCase(Locale.ROOT)).pnr(pnr).build())
+                .toList();
+        try {
+            seatAssignmentRepo.saveAllAndFlush(assignments);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ExceptionDueToSeat("One or more selected seats are already booked");
+        }
+    }
+    
+    private record HistoryCursor(LocalDateTime bookingTime, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString((bookingTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
 
-        fi.setAvailableSeats(fi.getAvailableSeats() + booking.getPassengers().size());
-        inventoryRepo.save(fi);
+        static HistoryCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new InvalidCursorException("Invalid history cursor");
+            }
+        }
     }
 }
\ No newline at end of file
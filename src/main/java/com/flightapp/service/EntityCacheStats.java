@@ -0,0 +1,42 @@
+package com.flightapp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.InMemoryRegionFactory;
+import com.flightapp.dto.CacheStatsDto;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reads Hibernate's second-level cache statistics for one entity region.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatsDto stats(String regionName) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactory.class)
+                .unwrap(SessionFactoryImplementor.class);
+        CacheRegionStatistics regionStats = sessionFactory.getStatistics().getDomainDataRegionStatistics(regionName);
+        long hits = regionStats == null ? 0 : regionStats.getHitCount();
+        long misses = regionStats == null ? 0 : regionStats.getMissCount();
+
+        int size = 0;
+        int maxSize = 0;
+        Region region = sessionFactory.getCache().getRegion(regionName);
+        if (region instanceof DomainDataRegionTemplate template
+                && template.getCacheStorageAccess() instanceof InMemoryRegionFactory.MapStorageAccess storage) {
+            size = storage.size();
+            maxSize = storage.maxSize();
+        }
+        return new CacheStatsDto(hits, misses, 0, size, maxSize);
+    }
+}
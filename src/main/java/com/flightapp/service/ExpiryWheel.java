@@ -0,0 +1,66 @@
+package com.flightapp.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel. Scheduling and expiring an entry are both O(1); delays
+ * longer than one revolution are tracked with a remaining-rounds counter.
+ */
+class ExpiryWheel<T> {
+
+    private final ArrayDeque<Entry<T>>[] slots;
+
+    private final long tickMillis;
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(int slotCount, long tickMillis) {
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    synchronized void schedule(T item, long delayMillis) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        int slot = (int) ((currentTick + ticks) % slots.length);
+        slots[slot].add(new Entry<>(item, (ticks - 1) / slots.length));
+    }
+
+    /**
+     * Moves the wheel one tick forward and returns the entries that fell due.
+     */
+    synchronized List<T> advance() {
+        currentTick++;
+        ArrayDeque<Entry<T>> slot = slots[(int) (currentTick % slots.length)];
+        List<T> expired = new ArrayList<>();
+        Iterator<Entry<T>> it = slot.iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (entry.rounds == 0) {
+                expired.add(entry.item);
+                it.remove();
+            } else {
+                entry.rounds--;
+            }
+        }
+        return expired;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+
+        private long rounds;
+
+        private Entry(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
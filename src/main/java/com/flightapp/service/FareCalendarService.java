@@ -0,0 +1,146 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.dto.FareCalendarDayDto;
+import com.flightapp.entity.FareCalendarDay;
+import com.flightapp.exception.ExceptionDuetoTiming;
+import com.flightapp.repository.FareCalendarDayRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per route and day minimum fare and seat totals in fare_calendar_days, keyed
+ * by airport ids like the inventory route index. Writes
+ * only mark a route-day dirty; a background flush re-aggregates just those
+ * days, so a month view is one range read on the unique key. A periodic
+ * reconcile re-aggregates every upcoming day, which repairs days whose update
+ * was lost with a node or made directly in the database.
+ */
+@Service
+public class FareCalendarService {
+
+    private final FareCalendarDayRepository calendarRepo;
+
+    private final FlightInventoryRepository inventoryRepo;
+
+    private final AirportRegistry airports;
+
+    private final InventoryLockProvider lockProvider;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxDays;
+
+    private final Set<RouteDay> dirty = ConcurrentHashMap.newKeySet();
+
+    public FareCalendarService(FareCalendarDayRepository calendarRepo, FlightInventoryRepository inventoryRepo,
+            AirportRegistry airports, InventoryLockProvider lockProvider, TransactionTemplate transactionTemplate,
+            @Value("${flightapp.fare-calendar.max-days:62}") int maxDays) {
+        this.calendarRepo = calendarRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.airports = airports;
+        this.lockProvider = lockProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.maxDays = maxDays;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FareCalendarDayDto> calendar(String fromPlace, String toPlace, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ExceptionDuetoTiming("End date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new ExceptionDuetoTiming("Calendar range cannot exceed " + maxDays + " days");
+        }
+        Integer from = airports.find(fromPlace);
+        Integer to = airports.find(toPlace);
+        if (from == null || to == null) {
+            return List.of();
+        }
+        return calendarRepo.findCalendar(from, to, startDate, endDate);
+    }
+
+    public void markDirty(int fromAirportId, int toAirportId, LocalDate date) {
+        dirty.add(new RouteDay(fromAirportId, toAirportId, date));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        if (calendarRepo.count() == 0) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${flightapp.fare-calendar.reconcile-cron:0 0 * * * *}")
+    public void scheduledReconcile() {
+        lockProvider.runExclusive("fare-calendar-reconcile", this::reconcile);
+    }
+
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        // days already in the calendar are included so rows whose departures are all gone get deleted
+        markDirty(calendarRepo.findRouteDaysFrom(today));
+        markDirty(inventoryRepo.findActiveRouteDaysAfter(today.atStartOfDay()));
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.fare-calendar.flush-interval-ms:2000}")
+    public void flush() {
+        List<RouteDay> batch = new ArrayList<>();
+        for (RouteDay day : dirty) {
+            if (dirty.remove(day)) {
+                batch.add(day);
+            }
+        }
+        for (RouteDay day : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> recompute(day));
+            } catch (RuntimeException ex) {
+                // a duplicate insert from another node or a database hiccup; try again on the next flush
+                dirty.add(day);
+            }
+        }
+    }
+
+    private void markDirty(List<Object[]> routeDays) {
+        routeDays.forEach(row -> markDirty((Integer) row[0], (Integer) row[1], (LocalDate) row[2]));
+    }
+
+    private void recompute(RouteDay day) {
+        FareCalendarDayDto aggregate = inventoryRepo.aggregateDay(day.fromAirportId(), day.toAirportId(),
+                day.date().atStartOfDay(), day.date().plusDays(1).atStartOfDay());
+        FareCalendarDay row = calendarRepo.findByFromAirportIdAndToAirportIdAndTravelDate(day.fromAirportId(), day.toAirportId(), day.date()).orElse(null);
+
+        if (aggregate.getDepartures() == 0) {
+            if (row != null) {
+                calendarRepo.delete(row);
+            }
+            return;
+        }
+        if (row == null) {
+            row = FareCalendarDay.builder().fromAirportId(day.fromAirportId()).toAirportId(day.toAirportId()).travelDate(day.date()).build();
+        }
+        row.setMinPrice(aggregate.getMinPrice());
+        row.setAvailableSeats(aggregate.getAvailableSeats());
+        row.setDepartures(aggregate.getDepartures());
+        row.setUpdatedAt(LocalDateTime.now());
+        calendarRepo.save(row);
+    }
+
+    private record RouteDay(int fromAirportId, int toAirportId, LocalDate date) {
+    }
+}
@@ -2,8 +2,14 @@ package com.flightapp.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.flightapp.dto.ConnectingSearchRequestDto;
+import com.flightapp.dto.FlightSearchResultDto;
 import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.InventoryRowResultDto;
+import com.flightapp.dto.ItineraryDto;
 import com.flightapp.dto.SearchRequestDto;
 import com.flightapp.entity.Flight;
 import com.flightapp.entity.FlightInventory;
@@ -14,56 +20,111 @@ import com.flightapp.exception.FlightNotFoundException;
 import com.flightapp.repository.FlightInventoryRepository;
 import com.flightapp.repository.FlightRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class FlightInventoryService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private static final String DUPLICATE_MESSAGE = "Flight already exists with same details (airline, flightNumber, route, departureTime)";
+
     private final FlightInventoryRepository inventoryRepo;
     
     private final FlightRepository flightRepo;
     
+    private final SearchCache searchCache;
+    
+    private final AirportRegistry airports;
+    
+    private final PlaceAutocomplete autocomplete;
+    
+    private final RouteFilter routeFilter;
+    
+    private final RouteGraph routeGraph;
+    
+    private final FareCalendarService fareCalendar;
+    
+    private final Validator validator;
+    
+    private final TransactionTemplate transactionTemplate;
+    
     public FlightInventory addInventory(InventoryRequestDto dto) {
     	
-    	if (dto.getAvailableSeats() > dto.getTotalSeats()) {
-            throw new AvaliableSeatMoreThanTotal("Available seats cannot be greater than total seats");
-        }
-    	if (dto.getArrivalTime().isBefore(dto.getDepartureTime())) {
-    	    throw new ExceptionDuetoTiming("Arrival time cannot be before departure time");
-    	}
+    	validate(dto);
     	
-    	Optional<FlightInventory> duplicate = inventoryRepo.findDuplicateFlight(dto.getAirlineName(),dto.getFlightNumber(),dto.getFromPlace(),dto.getToPlace(),dto.getDepartureTime());
+    	int from = airports.register(dto.getFromPlace());
+    	int to = airports.register(dto.getToPlace());
+    	Optional<FlightInventory> duplicate = inventoryRepo.findDuplicateFlight(dto.getAirlineName(),dto.getFlightNumber(),from,to,dto.getDepartureTime());
 
     	if (duplicate.isPresent()) {
-    	        throw new FlightAlreadyExist("Flight already exists with same details (airline, flightNumber, route, departureTime)");
+    	        throw new FlightAlreadyExist(DUPLICATE_MESSAGE);
     	}
     	
     	Flight flight = flightRepo.findById(dto.getFlightNumber()).orElseGet(() -> {
-    			Flight f = Flight.builder().flightNumber(dto.getFlightNumber()).airlineName(dto.getAirlineName()).fromPlace(dto.getFromPlace()).toPlace(dto.getToPlace()).build();
-    			return flightRepo.save(f);
+    	    Flight created = flightRepo.save(toFlight(dto));
+    	    autocomplete.addAll(List.of(created.getFromPlace(), created.getToPlace()));
+    	    return created;
     	});
 
+    	routeFilter.add(from, to);
+    	FlightInventory saved = inventoryRepo.save(toInventory(dto, flight));
+    	searchCache.invalidate(from, to, dto.getDepartureTime().toLocalDate());
+    	routeGraph.add(saved);
+    	fareCalendar.markDirty(from, to, dto.getDepartureTime().toLocalDate());
+    	return saved;
+    }
 
-    	FlightInventory fi = FlightInventory.builder().flight(flight).departureTime(dto.getDepartureTime()).arrivalTime(dto.getArrivalTime()).price(dto.getPrice())
-    			.totalSeats(dto.getTotalSeats()).availableSeats(dto.getAvailableSeats()).active(true).build();
-
+    public List<InventoryRowResultDto> addInventoryBulk(List<InventoryRequestDto> rows) {
 
-    	return inventoryRepo.save(fi);
+        List<InventoryRowResultDto> results = new ArrayList<>(rows.size());
+        for (int start = 0; start < rows.size(); start += BULK_CHUNK_SIZE) {
+            int offset = start;
+            List<InventoryRequestDto> chunk = rows.subList(start, Math.min(start + BULK_CHUNK_SIZE, rows.size()));
+            List<String> errors = chunk.stream().map(this::validationError).toList();
+            // new places get their ids in their own transaction before the chunk's opens
+            for (int i = 0; i < chunk.size(); i++) {
+                if (errors.get(i) == null) {
+                    airports.register(chunk.get(i).getFromPlace());
+                    airports.register(chunk.get(i).getToPlace());
+                }
+            }
+            results.addAll(transactionTemplate.execute(status -> addChunk(chunk, errors, offset)));
+        }
+        return results;
     }
 
-    public Map<String, List<FlightInventory>> searchFlights(SearchRequestDto dto) {
+    @Transactional(readOnly = true)
+    public Map<String, List<FlightSearchResultDto>> searchFlights(SearchRequestDto dto) {
 
-        Map<String, List<FlightInventory>> response = new HashMap<>();
+        Map<String, List<FlightSearchResultDto>> response = new HashMap<>();
 
         LocalDateTime onwardStart = dto.getJourneyDate().atStartOfDay();
         LocalDateTime onwardEnd = dto.getJourneyDate().atTime(23, 59, 59);
 
-        List<FlightInventory> onwardFlights =inventoryRepo.findByFromPlaceAndToPlaceAndDepartureTimeBetween(dto.getFromPlace(), dto.getToPlace(),onwardStart,onwardEnd );
+        Integer from = airports.find(dto.getFromPlace());
+        Integer to = airports.find(dto.getToPlace());
+        if (!routeFilter.serves(from, to)) {
+            throw new FlightNotFoundException("No onward flights found");
+        }
+
+        List<FlightSearchResultDto> onwardFlights = searchCache.get(from, to, dto.getJourneyDate(),
+                () -> inventoryRepo.findByRouteAndDepartureTimeBetween(from, to, onwardStart, onwardEnd));
 
         if (onwardFlights.isEmpty()) {
             throw new FlightNotFoundException("No onward flights found");
@@ -77,10 +138,15 @@ public class FlightInventoryService {
                 throw new ExceptionDuetoTiming("Return date is required for ROUND_TRIP");
             }
 
+            if (!routeFilter.serves(to, from)) {
+                throw new FlightNotFoundException("No return flights found");
+            }
+
             LocalDateTime returnStart = dto.getReturnDate().atStartOfDay();
             LocalDateTime returnEnd = dto.getReturnDate().atTime(23, 59, 59);
 
-            List<FlightInventory> returnFlights =inventoryRepo.findByFromPlaceAndToPlaceAndDepartureTimeBetween(dto.getToPlace(),dto.getFromPlace(),returnStart,returnEnd);
+            List<FlightSearchResultDto> returnFlights = searchCache.get(to, from, dto.getReturnDate(),
+                    () -> inventoryRepo.findByRouteAndDepartureTimeBetween(to, from, returnStart, returnEnd));
 
             if (returnFlights.isEmpty()) {
                 throw new FlightNotFoundException("No return flights found");
@@ -91,4 +157,133 @@ public class FlightInventoryService {
 
         return response;
     }
-}
\ No newline at end of file
+
+    public List<ItineraryDto> searchConnecting(ConnectingSearchRequestDto dto) {
+        Integer from = airports.find(dto.getFromPlace());
+        Integer to = airports.find(dto.getToPlace());
+        List<ItineraryDto> itineraries = from == null || to == null ? List.of() : routeGraph.search(from, to, dto);
+        if (itineraries.isEmpty()) {
+            throw new FlightNotFoundException("No itineraries found");
+        }
+        return itineraries;
+    }
+
+    private List<InventoryRowResultDto> addChunk(List<InventoryRequestDto> chunk, List<String> errors, int offset) {
+
+        InventoryRowResultDto[] results = new InventoryRowResultDto[chunk.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = errors.get(i);
+            if (error != null) {
+                results[i] = new InventoryRowResultDto(offset + i, "INVALID", null, error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        Set<InventoryKey> existing = existingKeys(accepted.stream().map(chunk::get).toList());
+        List<Integer> toInsert = new ArrayList<>();
+        for (int i : accepted) {
+            if (!existing.add(keyOf(chunk.get(i)))) {
+                results[i] = new InventoryRowResultDto(offset + i, "DUPLICATE", null, DUPLICATE_MESSAGE);
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        Map<String, Flight> flights = upsertFlights(toInsert.stream().map(chunk::get).toList());
+        toInsert.forEach(i -> routeFilter.add(airports.find(chunk.get(i).getFromPlace()), airports.find(chunk.get(i).getToPlace())));
+        List<FlightInventory> inventories = inventoryRepo.saveAll(toInsert.stream()
+                .map(i -> toInventory(chunk.get(i), flights.get(chunk.get(i).getFlightNumber())))
+                .toList());
+
+        for (int n = 0; n < toInsert.size(); n++) {
+            int i = toInsert.get(n);
+            FlightInventory fi = inventories.get(n);
+            results[i] = new InventoryRowResultDto(offset + i, "CREATED", fi.getId(), null);
+            TransactionCallbacks.afterCommit(() -> {
+                searchCache.invalidate(fi.getFromAirportId(), fi.getToAirportId(), fi.getDepartureTime().toLocalDate());
+                routeGraph.add(fi);
+                fareCalendar.markDirty(fi.getFromAirportId(), fi.getToAirportId(), fi.getDepartureTime().toLocalDate());
+            });
+        }
+        return List.of(results);
+    }
+
+    private Set<InventoryKey> existingKeys(List<InventoryRequestDto> rows) {
+        if (rows.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> flightNumbers = rows.stream().map(InventoryRequestDto::getFlightNumber).collect(Collectors.toSet());
+        LocalDateTime first = rows.stream().map(InventoryRequestDto::getDepartureTime).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime last = rows.stream().map(InventoryRequestDto::getDepartureTime).max(Comparator.naturalOrder()).orElseThrow();
+
+        return inventoryRepo.findByFlightNumbersAndDepartureBetween(flightNumbers, first, last).stream()
+                .map(InventoryKey::of)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private Map<String, Flight> upsertFlights(List<InventoryRequestDto> rows) {
+        Map<String, Flight> flights = flightRepo.findAllById(rows.stream().map(InventoryRequestDto::getFlightNumber).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Flight::getFlightNumber, Function.identity()));
+
+        Map<String, Flight> missing = new HashMap<>();
+        for (InventoryRequestDto dto : rows) {
+            if (!flights.containsKey(dto.getFlightNumber())) {
+                missing.putIfAbsent(dto.getFlightNumber(), toFlight(dto));
+            }
+        }
+        flightRepo.saveAll(missing.values()).forEach(f -> flights.put(f.getFlightNumber(), f));
+        if (!missing.isEmpty()) {
+            List<String> places = missing.values().stream().flatMap(f -> Stream.of(f.getFromPlace(), f.getToPlace())).toList();
+            TransactionCallbacks.afterCommit(() -> autocomplete.addAll(places));
+        }
+        return flights;
+    }
+
+    private String validationError(InventoryRequestDto dto) {
+        if (dto == null) {
+            return "Inventory row is empty";
+        }
+        Set<ConstraintViolation<InventoryRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted().collect(Collectors.joining(", "));
+        }
+        try {
+            validate(dto);
+            return null;
+        } catch (AvaliableSeatMoreThanTotal | ExceptionDuetoTiming ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private void validate(InventoryRequestDto dto) {
+    	if (dto.getAvailableSeats() > dto.getTotalSeats()) {
+            throw new AvaliableSeatMoreThanTotal("Available seats cannot be greater than total seats");
+        }
+    	if (dto.getArrivalTime().isBefore(dto.getDepartureTime())) {
+    	    throw new ExceptionDuetoTiming("Arrival time cannot be before departure time");
+    	}
+    }
+
+    private Flight toFlight(InventoryRequestDto dto) {
+        return Flight.builder().flightNumber(dto.getFlightNumber()).airlineName(dto.getAirlineName()).fromPlace(dto.getFromPlace()).toPlace(dto.getToPlace()).build();
+    }
+
+    private FlightInventory toInventory(InventoryRequestDto dto, Flight flight) {
+        return FlightInventory.builder().flight(flight).fromPlace(dto.getFromPlace()).toPlace(dto.getToPlace())
+                .fromAirportId(airports.find(dto.getFromPlace())).toAirportId(airports.find(dto.getToPlace())).departureTime(dto.getDepartureTime()).arrivalTime(dto.getArrivalTime()).price(dto.getPrice())
+    			.totalSeats(dto.getTotalSeats()).availableSeats(dto.getAvailableSeats()).active(true).build();
+    }
+
+    private InventoryKey keyOf(InventoryRequestDto dto) {
+        return new InventoryKey(dto.getAirlineName(), dto.getFlightNumber(), airports.find(dto.getFromPlace()), airports.find(dto.getToPlace()), dto.getDepartureTime());
+    }
+
+    private record InventoryKey(String airlineName, String flightNumber, Integer fromAirportId, Integer toAirportId, LocalDateTime departureTime) {
+
+        static InventoryKey of(FlightInventory fi) {
+            return new InventoryKey(fi.getFlight().getAirlineName(), fi.getFlight().getFlightNumber(), fi.getFromAirportId(), fi.getToAirportId(), fi.getDepartureTime());
+        }
+    }
+}
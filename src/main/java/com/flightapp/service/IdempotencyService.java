@@ -0,0 +1,303 @@
+package com.flightapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.dto.TicketDto;
+import com.flightapp.entity.IdempotencyRecord;
+import com.flightapp.exception.IdempotencyKeyException;
+import com.flightapp.exception.ServiceBusyException;
+import com.flightapp.repository.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Replays the stored ticket for a repeated Idempotency-Key instead of booking
+ * again. A claim row in idempotency_records makes the key exclusive across
+ * nodes and carries the PNR the booking will use, so a claim whose owner died
+ * after the booking committed can still be completed from the booking itself.
+ * A claim is leased until expires_at and may be taken over once that passes;
+ * recent responses are also kept in a bounded in-memory LRU. The claim also
+ * records a hash of the request body, and a key reused for a different flight
+ * or body is rejected rather than replayed.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final int CLAIM_ATTEMPTS = 2;
+
+    private final IdempotencyRecordRepository recordRepo;
+
+    private final BookingService bookingService;
+
+    private final PnrGenerator pnrGenerator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+
+    private final Duration lease;
+
+    private final long waitMillis;
+
+    private final Map<String, StoredResponse> recent;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepo, BookingService bookingService,
+            PnrGenerator pnrGenerator, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+            @Value("${flightapp.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${flightapp.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${flightapp.idempotency.lease-ms:30000}") long leaseMillis,
+            @Value("${flightapp.booking.pipeline.timeout-ms:10000}") long waitMillis) {
+        this.recordRepo = recordRepo;
+        this.bookingService = bookingService;
+        this.pnrGenerator = pnrGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.waitMillis = waitMillis;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code booking} at most once per key. The booking is handed the PNR
+     * it must use, or {@code null} when the request carries no key.
+     * {@code request} is the deserialized body, hashed in its serialized form
+     * so whitespace and field order do not count as a different request.
+     */
+    public TicketDto execute(String key, Long flightId, Object request, Function<String, TicketDto> booking) {
+        if (key == null || key.isBlank()) {
+            return booking.apply(null);
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Fingerprint fingerprint = new Fingerprint(flightId, hash(request));
+        StoredResponse stored = lookup(key);
+        if (stored != null) {
+            return replay(stored, fingerprint);
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            running.fingerprint().check(fingerprint);
+            return await(running.result());
+        }
+
+        try {
+            TicketDto ticket = executeOnce(key, fingerprint, booking);
+            mine.result().complete(ticket);
+            return ticket;
+        } catch (RuntimeException ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        // abandoned claims are kept for a full TTL so a late retry still reuses their PNR
+        transactionTemplate.executeWithoutResult(status -> recordRepo.deleteExpired(now, now.minus(ttl)));
+        synchronized (recent) {
+            recent.values().removeIf(response -> !response.expiresAt().isAfter(now));
+        }
+    }
+
+    private TicketDto executeOnce(String key, Fingerprint fingerprint, Function<String, TicketDto> booking) {
+        // the previous owner may have finished between the first lookup and our putIfAbsent
+        StoredResponse stored = lookup(key);
+        if (stored != null) {
+            return replay(stored, fingerprint);
+        }
+
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            String pnr = pnrGenerator.next();
+            try {
+                transactionTemplate.executeWithoutResult(status -> recordRepo.claim(key, fingerprint.flightId(),
+                        fingerprint.requestHash(), pnr, now, now.plus(lease)));
+                return book(key, fingerprint, pnr, booking);
+            } catch (DataIntegrityViolationException ex) {
+                // someone holds or held the key; fall through to inspect their claim
+            }
+
+            IdempotencyRecord record = transactionTemplate.execute(status -> recordRepo.findById(key).orElse(null));
+            if (record == null) {
+                continue;
+            }
+            Fingerprint.of(record).check(fingerprint);
+
+            if (record.isCompleted()) {
+                if (record.getExpiresAt().isAfter(now)) {
+                    return replay(remember(key, record), fingerprint);
+                }
+                transactionTemplate.executeWithoutResult(status -> recordRepo.deleteIfExpired(key, now));
+                continue;
+            }
+
+            // the owner may have committed the booking and died before completing the claim
+            Optional<TicketDto> booked = bookingService.findBooked(record.getPnr());
+            if (booked.isPresent()) {
+                return complete(key, fingerprint, booked.get());
+            }
+            if (record.getExpiresAt().isBefore(now)
+                    && transactionTemplate.execute(status -> recordRepo.takeOver(key, record.getExpiresAt(), now.plus(lease))) == 1) {
+                // reusing the PNR means a straggling first attempt and this one cannot both commit
+                return book(key, fingerprint, record.getPnr(), booking);
+            }
+            throw new ServiceBusyException("A request with this Idempotency-Key is still in progress");
+        }
+        throw new ServiceBusyException("A request with this Idempotency-Key is still in progress");
+    }
+
+    private TicketDto book(String key, Fingerprint fingerprint, String pnr, Function<String, TicketDto> booking) {
+        TicketDto ticket;
+        try {
+            ticket = booking.apply(pnr);
+        } catch (RuntimeException ex) {
+            // a failed commit acknowledgement or a taken-over claim can still leave a booking behind
+            Optional<TicketDto> booked = bookingService.findBooked(pnr);
+            if (booked.isEmpty()) {
+                // end the lease but keep the row, so the retry books under the same PNR
+                transactionTemplate.executeWithoutResult(status -> recordRepo.release(key, LocalDateTime.now()));
+                throw ex;
+            }
+            ticket = booked.get();
+        }
+        return complete(key, fingerprint, ticket);
+    }
+
+    private TicketDto complete(String key, Fingerprint fingerprint, TicketDto ticket) {
+        String body = toJson(ticket);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        transactionTemplate.executeWithoutResult(status -> recordRepo.complete(key, body, expiresAt));
+        synchronized (recent) {
+            recent.put(key, new StoredResponse(fingerprint, body, expiresAt));
+        }
+        return ticket;
+    }
+
+    private StoredResponse lookup(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            StoredResponse response = recent.get(key);
+            if (response != null && response.expiresAt().isAfter(now)) {
+                return response;
+            }
+        }
+        IdempotencyRecord record = recordRepo.findById(key).orElse(null);
+        if (record == null || !record.isCompleted() || !record.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+        return remember(key, record);
+    }
+
+    private StoredResponse remember(String key, IdempotencyRecord record) {
+        StoredResponse response = new StoredResponse(Fingerprint.of(record), record.getResponseBody(), record.getExpiresAt());
+        synchronized (recent) {
+            recent.put(key, response);
+        }
+        return response;
+    }
+
+    private TicketDto replay(StoredResponse stored, Fingerprint fingerprint) {
+        stored.fingerprint().check(fingerprint);
+        try {
+            return objectMapper.readValue(stored.body(), TicketDto.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response is not a ticket", ex);
+        }
+    }
+
+    private String toJson(TicketDto ticket) {
+        try {
+            return objectMapper.writeValueAsString(ticket);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Ticket could not be serialized", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Request could not be serialized", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private TicketDto await(CompletableFuture<TicketDto> result) {
+        try {
+            return result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ServiceBusyException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private record Fingerprint(Long flightId, String requestHash) {
+
+        static Fingerprint of(IdempotencyRecord record) {
+            return new Fingerprint(record.getFlightId(), record.getRequestHash());
+        }
+
+        void check(Fingerprint requested) {
+            if (!flightId.equals(requested.flightId())) {
+                throw new IdempotencyKeyException("Idempotency-Key was already used for a different flight");
+            }
+            if (!requestHash.equals(requested.requestHash())) {
+                throw new IdempotencyKeyException("Idempotency-Key was already used for a different request");
+            }
+        }
+    }
+
+    private record StoredResponse(Fingerprint fingerprint, String body, LocalDateTime expiresAt) {
+    }
+
+    private record InFlight(Fingerprint fingerprint, CompletableFuture<TicketDto> result) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.LockStatsDto;
+import com.flightapp.dto.LockStripeStatsDto;
+import com.flightapp.exception.ServiceBusyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-JVM locks keyed by inventory id. Writers on the same flight wait
+ * here, before they borrow a pool connection, while other flights proceed.
+ */
+@Component
+public class InventoryLockManager {
+
+    private final Stripe[] stripes;
+
+    private final long timeoutMillis;
+
+    public InventoryLockManager(@Value("${flightapp.lock.stripes:64}") int stripeCount,
+            @Value("${flightapp.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public <T> T withLock(Long inventoryId, Supplier<T> action) {
+        Stripe stripe = stripes[Math.floorMod(Long.hashCode(inventoryId), stripes.length)];
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = stripe.lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Booking interrupted, please retry");
+        }
+        if (!acquired) {
+            stripe.timeouts.incrementAndGet();
+            throw new ServiceBusyException("Flight is busy, please retry");
+        }
+        stripe.recordWait(System.nanoTime() - start);
+
+        try {
+            return action.get();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public LockStatsDto stats() {
+        List<LockStripeStatsDto> busy = new ArrayList<>();
+        long acquisitions = 0;
+        long timeouts = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            long count = stripe.acquisitions.get();
+            acquisitions += count;
+            timeouts += stripe.timeouts.get();
+            if (count > 0 || stripe.timeouts.get() > 0) {
+                busy.add(new LockStripeStatsDto(i, count, stripe.timeouts.get(),
+                        count == 0 ? 0 : stripe.waitNanos.get() / count / 1000, stripe.maxWaitNanos.get() / 1000,
+                        stripe.lock.getQueueLength()));
+            }
+        }
+        return new LockStatsDto(stripes.length, acquisitions, timeouts, busy);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+
+        private final AtomicLong acquisitions = new AtomicLong();
+
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void recordWait(long nanos) {
+            acquisitions.incrementAndGet();
+            waitNanos.addAndGet(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.flightapp.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide lock on one inventory, taken around the booking transaction so
+ * that writers on different nodes do not race for the same flight.
+ */
+public interface InventoryLockProvider {
+
+    <T> T withLock(Long inventoryId, Supplier<T> action);
+
+    /**
+     * Runs a scheduled job on at most one node at a time. Returns false without
+     * running it when another node already holds the job.
+     */
+    boolean runExclusive(String job, Runnable action);
+}
@@ -0,0 +1,25 @@
+package com.flightapp.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Single-node deployments: the striped in-JVM lock is already enough.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.lock.provider", havingValue = "local")
+public class LocalInventoryLockProvider implements InventoryLockProvider {
+
+    @Override
+    public <T> T withLock(Long inventoryId, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public boolean runExclusive(String job, Runnable action) {
+        action.run();
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package com.flightapp.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.exception.ServiceBusyException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.function.Supplier;
+
+/**
+ * Uses MySQL GET_LOCK/RELEASE_LOCK. Named locks belong to a session, so each
+ * one is held on a connection from a small pool of its own. A lock holder then
+ * only ever waits on the main pool and never the reverse, so bookings on many
+ * flights cannot starve the transactions they are waiting for.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.lock.provider", havingValue = "mysql", matchIfMissing = true)
+public class MySqlNamedLockProvider implements InventoryLockProvider, DisposableBean {
+
+    private static final String KEY_PREFIX = "flightapp.inventory.";
+
+    private static final String JOB_PREFIX = "flightapp.job.";
+
+    private final HikariDataSource lockPool;
+
+    private final int timeoutSeconds;
+
+    public MySqlNamedLockProvider(DataSourceProperties properties,
+            @Value("${flightapp.lock.timeout-ms:5000}") long timeoutMillis,
+            @Value("${flightapp.lock.pool-size:16}") int poolSize) {
+        this.lockPool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.lockPool.setPoolName("inventory-locks");
+        this.lockPool.setMaximumPoolSize(poolSize);
+        this.lockPool.setMinimumIdle(1);
+        this.lockPool.setConnectionTimeout(Math.max(250, timeoutMillis));
+        this.timeoutSeconds = (int) Math.max(1, (timeoutMillis + 999) / 1000);
+    }
+
+    @Override
+    public <T> T withLock(Long inventoryId, Supplier<T> action) {
+        String key = KEY_PREFIX + inventoryId;
+        try (Connection connection = lockPool.getConnection()) {
+            if (!acquire(connection, key, timeoutSeconds)) {
+                throw new ServiceBusyException("Flight is busy, please retry");
+            }
+            try {
+                return action.get();
+            } finally {
+                release(connection, key);
+            }
+        } catch (SQLTransientConnectionException ex) {
+            throw new ServiceBusyException("Flight is busy, please retry");
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Could not lock inventory " + inventoryId, ex);
+        }
+    }
+
+    @Override
+    public boolean runExclusive(String job, Runnable action) {
+        String key = JOB_PREFIX + job;
+        try (Connection connection = lockPool.getConnection()) {
+            if (!acquire(connection, key, 0)) {
+                return false;
+            }
+            try {
+                action.run();
+                return true;
+            } finally {
+                release(connection, key);
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Could not lock job " + job, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lockPool.close();
+    }
+
+    private boolean acquire(Connection connection, String key, int waitSeconds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, key);
+            statement.setInt(2, waitSeconds);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void release(Connection connection, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, key);
+            statement.execute();
+        }
+    }
+}
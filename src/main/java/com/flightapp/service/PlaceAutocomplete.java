@@ -0,0 +1,114 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.repository.FlightRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typeahead over the places served by some flight. Normalized keys are kept in
+ * one sorted array and a prefix is answered with a binary search, so a
+ * keystroke allocates only the result list; new places are inserted into a
+ * copied array. A periodic reload rebuilds the array from the database and
+ * swaps it in, picking up places other nodes added and dropping places no
+ * flight serves any more.
+ */
+@Service
+public class PlaceAutocomplete {
+
+    private final FlightRepository flightRepo;
+
+    private final int maxResults;
+
+    private volatile Places places = new Places(new String[0], new String[0]);
+
+    // places added while a reload reads the database, which its snapshot may miss
+    private final List<String> addedDuringLoad = new ArrayList<>();
+
+    private boolean loading;
+
+    public PlaceAutocomplete(FlightRepository flightRepo, @Value("${flightapp.autocomplete.max-results:10}") int maxResults) {
+        this.flightRepo = flightRepo;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flightapp.autocomplete.refresh-interval-ms:300000}", initialDelayString = "${flightapp.autocomplete.refresh-interval-ms:300000}")
+    public void load() {
+        synchronized (this) {
+            loading = true;
+            addedDuringLoad.clear();
+        }
+        try {
+            List<String> all = new ArrayList<>(flightRepo.findDistinctPlaces());
+            synchronized (this) {
+                all.addAll(addedDuringLoad);
+                places = build(new Places(new String[0], new String[0]), all);
+            }
+        } finally {
+            synchronized (this) {
+                loading = false;
+                addedDuringLoad.clear();
+            }
+        }
+    }
+
+    public void add(String place) {
+        addAll(List.of(place));
+    }
+
+    public synchronized void addAll(Collection<String> newPlaces) {
+        if (loading) {
+            addedDuringLoad.addAll(newPlaces);
+        }
+        places = build(places, newPlaces);
+    }
+
+    private static Places build(Places current, Collection<String> newPlaces) {
+        List<String> keys = new ArrayList<>(Arrays.asList(current.keys));
+        List<String> names = new ArrayList<>(Arrays.asList(current.names));
+        boolean changed = false;
+        for (String place : newPlaces) {
+            String key = AirportRegistry.normalize(place);
+            if (key.isEmpty()) {
+                continue;
+            }
+            int at = Collections.binarySearch(keys, key);
+            if (at < 0) {
+                keys.add(-at - 1, key);
+                names.add(-at - 1, place.trim());
+                changed = true;
+            }
+        }
+        return changed ? new Places(keys.toArray(String[]::new), names.toArray(String[]::new)) : current;
+    }
+
+    public List<String> suggest(String prefix, Integer limit) {
+        String key = AirportRegistry.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int max = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+        Places snapshot = places;
+        int at = Arrays.binarySearch(snapshot.keys, key);
+        int from = at < 0 ? -at - 1 : at;
+
+        List<String> result = new ArrayList<>(Math.min(max, snapshot.keys.length - from));
+        for (int i = from; i < snapshot.keys.length && result.size() < max && snapshot.keys[i].startsWith(key); i++) {
+            result.add(snapshot.names[i]);
+        }
+        return result;
+    }
+
+    private record Places(String[] keys, String[] names) {
+    }
+}
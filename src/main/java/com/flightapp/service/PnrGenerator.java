@@ -0,0 +1,99 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds PNRs from 31 bits of seconds since 2025-01-01, a 7-bit node id and a
+ * 12-bit per-second sequence, written as 10 Crockford base-32 characters. PNRs
+ * stay unique across instances as long as every instance has its own
+ * flightapp.pnr.node-id. The 50 bits go through a keyed Feistel permutation
+ * before encoding, so one PNR says nothing about its neighbours; the key must
+ * stay the same across restarts and nodes.
+ */
+@Component
+public class PnrGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final String PREFIX = "PNR";
+    private static final int ENCODED_LENGTH = 10;
+
+    private static final long EPOCH_SECOND = 1_735_689_600L;
+    private static final int NODE_BITS = 7;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int HALF_BITS = 25;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final long nodeId;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    private long lastSecond = -1;
+    private long sequence;
+
+    public PnrGenerator(@Value("${flightapp.pnr.node-id:0}") long nodeId, @Value("${flightapp.pnr.key:flightapp}") String key) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("flightapp.pnr.node-id must be between 0 and " + MAX_NODE);
+        }
+        this.nodeId = nodeId;
+        long seed = 0;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            seed = mix(seed ^ b);
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            seed = mix(seed + round);
+            roundKeys[round] = seed;
+        }
+    }
+
+    public String next() {
+        long value;
+        synchronized (this) {
+            long second = Math.max(System.currentTimeMillis() / 1000 - EPOCH_SECOND, lastSecond);
+            if (second == lastSecond) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    // sequence exhausted for this second, borrow the next one rather than wait
+                    second++;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastSecond = second;
+            value = (second << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+        }
+        value = permute(value);
+
+        char[] pnr = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), pnr, 0);
+        for (int i = pnr.length - 1; i >= PREFIX.length(); i--) {
+            pnr[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(pnr);
+    }
+
+    private long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.DataSourceRouting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers PNRs and emails written in the last few seconds so that reads for
+ * them stay on the primary until replication has caught up.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(@Value("${flightapp.datasource.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000;
+    }
+
+    public void written(String key) {
+        long now = System.nanoTime();
+        recentWrites.put(key, now + windowNanos);
+        if (recentWrites.size() > PRUNE_THRESHOLD) {
+            recentWrites.values().removeIf(expiry -> expiry - now < 0);
+        }
+    }
+
+    public <T> T read(String key, Supplier<T> action) {
+        Long expiry = recentWrites.get(key);
+        if (expiry == null) {
+            return action.get();
+        }
+        if (expiry - System.nanoTime() < 0) {
+            recentWrites.remove(key, expiry);
+            return action.get();
+        }
+        return DataSourceRouting.onPrimary(action);
+    }
+}
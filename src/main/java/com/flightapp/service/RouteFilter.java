@@ -0,0 +1,69 @@
+package com.flightapp.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.dto.RouteFilterStatsDto;
+import com.flightapp.repository.FlightInventoryRepository;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exact set of (from airport id, to airport id) pairs that have inventory, so
+ * searches for routes nobody flies are answered without a query. A pair is
+ * added before its first row commits, which can only let a search through.
+ */
+@Service
+public class RouteFilter {
+
+    private final FlightInventoryRepository inventoryRepo;
+
+    private final Set<Long> routes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong checks = new AtomicLong();
+
+    private final AtomicLong rejections = new AtomicLong();
+
+    public RouteFilter(FlightInventoryRepository inventoryRepo) {
+        this.inventoryRepo = inventoryRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flightapp.route-filter.refresh-interval-ms:60000}", initialDelayString = "${flightapp.route-filter.refresh-interval-ms:60000}")
+    public void load() {
+        // only adds, so routes served by other nodes show up; dropped routes linger as harmless misses
+        for (Object[] route : inventoryRepo.findDistinctRoutes()) {
+            add((Integer) route[0], (Integer) route[1]);
+        }
+    }
+
+    public void add(Integer fromAirportId, Integer toAirportId) {
+        if (fromAirportId != null && toAirportId != null) {
+            routes.add(key(fromAirportId, toAirportId));
+        }
+    }
+
+    /**
+     * False when no inventory can match the route; unknown places count as unserved.
+     */
+    public boolean serves(Integer fromAirportId, Integer toAirportId) {
+        checks.incrementAndGet();
+        if (fromAirportId != null && toAirportId != null && routes.contains(key(fromAirportId, toAirportId))) {
+            return true;
+        }
+        rejections.incrementAndGet();
+        return false;
+    }
+
+    public RouteFilterStatsDto stats() {
+        return new RouteFilterStatsDto(routes.size(), checks.get(), rejections.get());
+    }
+
+    private static long key(int fromAirportId, int toAirportId) {
+        return ((long) fromAirportId << 32) | (toAirportId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,227 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.ConnectingSearchRequestDto;
+import com.flightapp.dto.FlightSearchResultDto;
+import com.flightapp.dto.ItineraryDto;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.FlightInventoryRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Airport ids as nodes and active departures as time-stamped edges, kept sorted
+ * by departure per airport so each connection step is a range scan in memory.
+ * Patched as inventory is added, booked or dropped, and reloaded from the
+ * database on a fixed delay to pick up changes made on other nodes.
+ */
+@Component
+public class RouteGraph {
+
+    private static final Comparator<Edge> BY_DEPARTURE = Comparator.comparing((Edge e) -> e.departureTime).thenComparing(e -> e.inventoryId);
+
+    private final FlightInventoryRepository inventoryRepo;
+
+    private final long minConnectionMinutes;
+
+    private final long maxConnectionMinutes;
+
+    private final int maxResults;
+
+    private final Map<Integer, NavigableSet<Edge>> departures = new ConcurrentHashMap<>();
+
+    private final Map<Long, Edge> edges = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public RouteGraph(FlightInventoryRepository inventoryRepo,
+            @Value("${flightapp.route-graph.min-connection-minutes:45}") long minConnectionMinutes,
+            @Value("${flightapp.route-graph.max-connection-hours:24}") long maxConnectionHours,
+            @Value("${flightapp.route-graph.max-results:50}") int maxResults) {
+        this.inventoryRepo = inventoryRepo;
+        this.minConnectionMinutes = minConnectionMinutes;
+        this.maxConnectionMinutes = maxConnectionHours * 60;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flightapp.route-graph.refresh-interval-ms:300000}", initialDelayString = "${flightapp.route-graph.refresh-interval-ms:300000}")
+    public void load() {
+        long started = generation.incrementAndGet();
+        inventoryRepo.findActiveDepartingAfter(LocalDateTime.now()).forEach(this::add);
+        // edges the load did not see are departed, deactivated or archived; anything added since it started stays
+        remove(edges.values().stream().filter(edge -> edge.generation < started).map(edge -> edge.inventoryId).toList());
+    }
+
+    public void add(FlightInventory fi) {
+        Edge edge = new Edge(fi, generation.get());
+        Edge previous = edges.put(edge.inventoryId, edge);
+        if (previous != null) {
+            departures.get(previous.from).remove(previous);
+        }
+        departures.computeIfAbsent(edge.from, airport -> new ConcurrentSkipListSet<>(BY_DEPARTURE)).add(edge);
+    }
+
+    public void adjustSeats(Long inventoryId, int delta) {
+        Edge edge = edges.get(inventoryId);
+        if (edge != null) {
+            edge.availableSeats.addAndGet(delta);
+        }
+    }
+
+    public void remove(Collection<Long> inventoryIds) {
+        for (Long id : inventoryIds) {
+            Edge edge = edges.remove(id);
+            if (edge != null) {
+                NavigableSet<Edge> set = departures.get(edge.from);
+                if (set != null) {
+                    set.remove(edge);
+                }
+            }
+        }
+    }
+
+    public List<ItineraryDto> search(int origin, int destination, ConnectingSearchRequestDto dto) {
+        int maxLegs = (dto.getMaxStops() == null ? 1 : dto.getMaxStops()) + 1;
+        // clients may ask for longer connections, never for less than the configured minimum
+        long minConnection = dto.getMinConnectionMinutes() == null ? minConnectionMinutes
+                : Math.max(minConnectionMinutes, dto.getMinConnectionMinutes());
+
+        List<List<Edge>> found = new ArrayList<>();
+        Deque<Edge> path = new ArrayDeque<>();
+        for (Edge first : window(origin, dto.getJourneyDate().atStartOfDay(), dto.getJourneyDate().plusDays(1).atStartOfDay())) {
+            path.addLast(first);
+            extend(path, origin, destination, maxLegs, minConnection, found);
+            path.removeLast();
+        }
+
+        Comparator<ItineraryDto> order = "PRICE".equalsIgnoreCase(dto.getSortBy())
+                ? Comparator.comparing(ItineraryDto::getTotalPrice).thenComparing(ItineraryDto::getDurationMinutes)
+                : Comparator.comparing(ItineraryDto::getDurationMinutes).thenComparing(ItineraryDto::getTotalPrice);
+        return found.stream().map(RouteGraph::toItinerary).sorted(order).limit(maxResults).toList();
+    }
+
+    private void extend(Deque<Edge> path, int origin, int destination, int maxLegs, long minConnection, List<List<Edge>> found) {
+        Edge last = path.peekLast();
+        if (last.to == destination) {
+            found.add(List.copyOf(path));
+            return;
+        }
+        if (path.size() == maxLegs) {
+            return;
+        }
+        LocalDateTime earliest = last.arrivalTime.plusMinutes(minConnection);
+        for (Edge next : window(last.to, earliest, last.arrivalTime.plusMinutes(maxConnectionMinutes))) {
+            if (next.to == origin || visits(path, next.to)) {
+                continue;
+            }
+            path.addLast(next);
+            extend(path, origin, destination, maxLegs, minConnection, found);
+            path.removeLast();
+        }
+    }
+
+    private List<Edge> window(int airport, LocalDateTime from, LocalDateTime until) {
+        NavigableSet<Edge> set = departures.get(airport);
+        if (set == null) {
+            return List.of();
+        }
+        return set.subSet(Edge.probe(from, Long.MIN_VALUE), true, Edge.probe(until, Long.MIN_VALUE), false).stream()
+                .filter(edge -> edge.availableSeats.get() > 0)
+                .toList();
+    }
+
+    private static boolean visits(Deque<Edge> path, int airport) {
+        for (Edge edge : path) {
+            if (edge.to == airport) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ItineraryDto toItinerary(List<Edge> legs) {
+        Edge first = legs.get(0);
+        Edge last = legs.get(legs.size() - 1);
+        double price = 0;
+        List<FlightSearchResultDto> rows = new ArrayList<>(legs.size());
+        for (Edge edge : legs) {
+            price += edge.price;
+            rows.add(edge.toDto());
+        }
+        return new ItineraryDto(rows, legs.size() - 1, Duration.between(first.departureTime, last.arrivalTime).toMinutes(), price);
+    }
+
+    private static final class Edge {
+
+        private final Long inventoryId;
+        private final String flightNumber;
+        private final String airlineName;
+        private final String fromPlace;
+        private final String toPlace;
+        private final int from;
+        private final int to;
+        private final LocalDateTime departureTime;
+        private final LocalDateTime arrivalTime;
+        private final double price;
+        private final AtomicInteger availableSeats;
+        private final long generation;
+
+        private Edge(FlightInventory fi, long generation) {
+            this.inventoryId = fi.getId();
+            this.flightNumber = fi.getFlight().getFlightNumber();
+            this.airlineName = fi.getFlight().getAirlineName();
+            this.fromPlace = fi.getFromPlace();
+            this.toPlace = fi.getToPlace();
+            this.from = fi.getFromAirportId();
+            this.to = fi.getToAirportId();
+            this.departureTime = fi.getDepartureTime();
+            this.arrivalTime = fi.getArrivalTime();
+            this.price = fi.getPrice();
+            this.availableSeats = new AtomicInteger(fi.getAvailableSeats());
+            this.generation = generation;
+        }
+
+        private Edge(LocalDateTime departureTime, Long inventoryId) {
+            this.inventoryId = inventoryId;
+            this.departureTime = departureTime;
+            this.flightNumber = null;
+            this.airlineName = null;
+            this.fromPlace = null;
+            this.toPlace = null;
+            this.from = 0;
+            this.to = 0;
+            this.arrivalTime = null;
+            this.price = 0;
+            this.availableSeats = null;
+            this.generation = 0;
+        }
+
+        private static Edge probe(LocalDateTime departureTime, Long inventoryId) {
+            return new Edge(departureTime, inventoryId);
+        }
+
+        private FlightSearchResultDto toDto() {
+            return new FlightSearchResultDto(inventoryId, flightNumber, airlineName, fromPlace, toPlace, departureTime, arrivalTime,
+                    price, availableSeats.get());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.dto.ImportReportDto;
+import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.InventoryRowResultDto;
+import com.flightapp.exception.NotFoundException;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads schedule files line by line through mapped windows of the file. The
+ * next batch is parsed while the previous one is written, so at most two
+ * batches are held in memory. After every written batch the file offset is
+ * saved to a checkpoint file together with the file's size and modification
+ * time, and a later run resumes there only if the file is still the same one.
+ */
+@Service
+public class ScheduleFileImporter {
+
+    private static final int WINDOW_SIZE = 32 * 1024 * 1024;
+
+    private final FlightInventoryService inventoryService;
+
+    private final Path importDir;
+
+    private final int batchSize;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "schedule-import-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScheduleFileImporter(FlightInventoryService inventoryService,
+            @Value("${flightapp.import.dir:imports}") String importDir,
+            @Value("${flightapp.import.batch-size:1000}") int batchSize) {
+        this.inventoryService = inventoryService;
+        this.importDir = Path.of(importDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+    }
+
+    public ImportReportDto importFile(String fileName) {
+        Path file = importDir.resolve(fileName).normalize();
+        if (!file.startsWith(importDir) || !Files.isRegularFile(file)) {
+            throw new NotFoundException("Schedule file not found: " + fileName);
+        }
+        try {
+            return importFile(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    synchronized ImportReportDto importFile(Path file) throws IOException {
+        Path checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+        // a replaced or edited file starts over; rows already written come back as duplicates
+        String stamp = Files.size(file) + " " + Files.getLastModifiedTime(file).toMillis();
+        long resumeOffset = readCheckpoint(checkpoint, stamp);
+        long startNanos = System.nanoTime();
+        ImportReportDto report = new ImportReportDto();
+        report.setResumedFromOffset(resumeOffset);
+
+        ScheduleLineParser parser = new ScheduleLineParser();
+        List<InventoryRequestDto> batch = new ArrayList<>(batchSize);
+        Future<?> pending = null;
+        long unparsable = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = resumeOffset;
+            while (position < size) {
+                int length = (int) Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (window.get(i) == '\n') {
+                        unparsable += parseLine(parser, window, lineStart, i, batch, report);
+                        lineStart = i + 1;
+                        if (batch.size() == batchSize) {
+                            pending = submit(pending, batch, position + lineStart, checkpoint, stamp, report);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+                if (lastWindow && lineStart < length) {
+                    unparsable += parseLine(parser, window, lineStart, length, batch, report);
+                    lineStart = length;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + position);
+                }
+                position += lineStart;
+            }
+            if (!batch.isEmpty()) {
+                pending = submit(pending, batch, size, checkpoint, stamp, report);
+            }
+            await(pending);
+        }
+
+        Files.deleteIfExists(checkpoint);
+        report.setInvalid(report.getInvalid() + unparsable);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRows() * 1_000_000_000.0 / elapsedNanos);
+        return report;
+    }
+
+    private static int parseLine(ScheduleLineParser parser, MappedByteBuffer window, int start, int end,
+            List<InventoryRequestDto> batch, ImportReportDto report) {
+        if (end == start || window.get(start) == '#' || (end - start == 1 && window.get(start) == '\r')) {
+            return 0;
+        }
+        report.setRows(report.getRows() + 1);
+        try {
+            batch.add(parser.parse(window, start, end));
+            return 0;
+        } catch (IllegalArgumentException ex) {
+            return 1;
+        }
+    }
+
+    private Future<?> submit(Future<?> previous, List<InventoryRequestDto> batch, long endOffset, Path checkpoint,
+            String stamp, ImportReportDto report) throws IOException {
+        await(previous);
+        return writer.submit(() -> {
+            for (InventoryRowResultDto result : inventoryService.addInventoryBulk(batch)) {
+                switch (result.getStatus()) {
+                    case "CREATED" -> report.setCreated(report.getCreated() + 1);
+                    case "DUPLICATE" -> report.setDuplicates(report.getDuplicates() + 1);
+                    default -> report.setInvalid(report.getInvalid() + 1);
+                }
+            }
+            writeCheckpoint(checkpoint, endOffset, stamp);
+        });
+    }
+
+    private static void await(Future<?> pending) throws IOException {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Schedule import interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    private static long readCheckpoint(Path checkpoint, String stamp) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        String[] saved = Files.readString(checkpoint, StandardCharsets.US_ASCII).trim().split(" ", 2);
+        return saved.length == 2 && saved[1].equals(stamp) ? Long.parseLong(saved[0]) : 0;
+    }
+
+    private static void writeCheckpoint(Path checkpoint, long offset, String stamp) {
+        try {
+            Files.writeString(checkpoint, offset + " " + stamp, StandardCharsets.US_ASCII);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdownNow();
+    }
+}
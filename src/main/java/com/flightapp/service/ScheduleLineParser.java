@@ -0,0 +1,170 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.InventoryRequestDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Parses one schedule line straight from the mapped file:
+ * airline|flightNumber|from|to|departure|arrival|price|totalSeats|availableSeats
+ * with ISO local date-times such as 2026-11-01T06:30. Repeated airline, flight
+ * and place names come back as the same String instance.
+ */
+class ScheduleLineParser {
+
+    static final int FIELDS = 9;
+
+    private static final int INTERNED_STRINGS = 4096;
+
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+
+    private final String[] interned = new String[INTERNED_STRINGS];
+    private final int[] internedHash = new int[INTERNED_STRINGS];
+
+    InventoryRequestDto parse(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        int field = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '|') {
+                if (field == FIELDS - 1) {
+                    throw new IllegalArgumentException("Expected " + FIELDS + " fields");
+                }
+                fieldEnd[field++] = i;
+                fieldStart[field] = i + 1;
+            }
+        }
+        if (field != FIELDS - 1) {
+            throw new IllegalArgumentException("Expected " + FIELDS + " fields");
+        }
+        fieldEnd[field] = end;
+
+        InventoryRequestDto dto = new InventoryRequestDto();
+        dto.setAirlineName(text(buffer, 0));
+        dto.setFlightNumber(text(buffer, 1));
+        dto.setFromPlace(text(buffer, 2));
+        dto.setToPlace(text(buffer, 3));
+        dto.setDepartureTime(dateTime(buffer, 4));
+        dto.setArrivalTime(dateTime(buffer, 5));
+        dto.setPrice(decimal(buffer, 6));
+        dto.setTotalSeats(integer(buffer, 7));
+        dto.setAvailableSeats(integer(buffer, 8));
+        return dto;
+    }
+
+    private String text(ByteBuffer buffer, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+        int hash = 1;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            ascii &= b >= 0;
+            hash = 31 * hash + b;
+        }
+        if (!ascii) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        int slot = hash & (INTERNED_STRINGS - 1);
+        String candidate = interned[slot];
+        if (candidate != null && internedHash[slot] == hash && sameAscii(candidate, buffer, start, end)) {
+            return candidate;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String value = new String(bytes, StandardCharsets.US_ASCII);
+        interned[slot] = value;
+        internedHash[slot] = hash;
+        return value;
+    }
+
+    private static boolean sameAscii(String candidate, ByteBuffer buffer, int start, int end) {
+        if (candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (candidate.charAt(i - start) != buffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private LocalDateTime dateTime(ByteBuffer buffer, int field) {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (length != 16 && length != 19) {
+            throw new IllegalArgumentException("Field " + (field + 1) + " must be yyyy-MM-ddTHH:mm[:ss]");
+        }
+        if (buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-' || buffer.get(start + 10) != 'T'
+                || buffer.get(start + 13) != ':' || (length == 19 && buffer.get(start + 16) != ':')) {
+            throw new IllegalArgumentException("Field " + (field + 1) + " must be yyyy-MM-ddTHH:mm[:ss]");
+        }
+        try {
+            return LocalDateTime.of(digits(buffer, start, 4), digits(buffer, start + 5, 2), digits(buffer, start + 8, 2),
+                    digits(buffer, start + 11, 2), digits(buffer, start + 14, 2), length == 19 ? digits(buffer, start + 17, 2) : 0);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Field " + (field + 1) + ": " + ex.getMessage());
+        }
+    }
+
+    private Integer integer(ByteBuffer buffer, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean negative = end > start && buffer.get(start) == '-';
+        int value = digits(buffer, negative ? start + 1 : start, end - start - (negative ? 1 : 0));
+        return negative ? -value : value;
+    }
+
+    private Double decimal(ByteBuffer buffer, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        int dot = end;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '.') {
+                dot = i;
+                break;
+            }
+        }
+        boolean negative = end > start && buffer.get(start) == '-';
+        int wholeStart = negative ? start + 1 : start;
+        double value = digits(buffer, wholeStart, dot - wholeStart);
+        if (dot < end - 1) {
+            int fractionLength = end - dot - 1;
+            value += digits(buffer, dot + 1, fractionLength) / Math.pow(10, fractionLength);
+        }
+        return negative ? -value : value;
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int length) {
+        if (length <= 0 || length > 9) {
+            throw new IllegalArgumentException("Invalid number");
+        }
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid number");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
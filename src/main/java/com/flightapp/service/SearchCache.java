@@ -0,0 +1,197 @@
+package com.flightapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.CacheStatsDto;
+import com.flightapp.dto.FlightSearchResultDto;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of search results per (from airport id, to airport id, date).
+ * Entries expire after a short TTL. Keys are spread over a few access-ordered
+ * segments, each with its own lock, so searches on different routes do not
+ * contend and LRU order is kept per segment.
+ * <p>
+ * A miss leaves a future in its slot, and concurrent misses on the same key
+ * wait for that one load instead of querying again. The loaded rows are kept
+ * only if the slot still holds that future, so an invalidation or seat change
+ * that lands while the query runs is never lost.
+ */
+@Component
+public class SearchCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final Segment[] segments;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SearchCache(@Value("${flightapp.search-cache.max-entries:10000}") int maxEntries,
+            @Value("${flightapp.search-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_SIZE)));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment((maxEntries + count - 1) / count);
+        }
+    }
+
+    public List<FlightSearchResultDto> get(int fromAirportId, int toAirportId, LocalDate date, Supplier<List<FlightSearchResultDto>> loader) {
+        RouteDateKey key = new RouteDateKey(fromAirportId, toAirportId, date);
+        Segment segment = segmentFor(key);
+        CompletableFuture<List<FlightSearchResultDto>> load = new CompletableFuture<>();
+        CompletableFuture<List<FlightSearchResultDto>> existing = null;
+        synchronized (segment) {
+            Slot slot = segment.get(key);
+            if (slot != null && slot.isFresh(System.nanoTime())) {
+                existing = slot.rows();
+            } else {
+                segment.put(key, new Slot(load, true, 0));
+            }
+        }
+        if (existing != null) {
+            hits.incrementAndGet();
+            return join(existing);
+        }
+
+        misses.incrementAndGet();
+        List<FlightSearchResultDto> loaded;
+        try {
+            loaded = List.copyOf(loader.get());
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            synchronized (segment) {
+                removeIfLoading(segment, key, load);
+            }
+            throw ex;
+        }
+        load.complete(loaded);
+        synchronized (segment) {
+            Slot current = segment.get(key);
+            if (current != null && current.rows() == load) {
+                segment.put(key, new Slot(load, false, System.nanoTime() + ttlNanos));
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(int fromAirportId, int toAirportId, LocalDate date) {
+        RouteDateKey key = new RouteDateKey(fromAirportId, toAirportId, date);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void adjustSeats(int fromAirportId, int toAirportId, LocalDate date, Long inventoryId, int delta) {
+        RouteDateKey key = new RouteDateKey(fromAirportId, toAirportId, date);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Slot slot = segment.get(key);
+            if (slot == null) {
+                return;
+            }
+            if (slot.loading()) {
+                // the running load may have read the seats before this change
+                segment.remove(key);
+                return;
+            }
+            List<FlightSearchResultDto> rows = slot.rows().join().stream()
+                    .map(row -> inventoryId.equals(row.getInventoryId())
+                            ? row.withAvailableSeats(row.getAvailableSeats() + delta)
+                            : row)
+                    .toList();
+            segment.put(key, new Slot(CompletableFuture.completedFuture(rows), false, slot.expiresAt()));
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public CacheStatsDto stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new CacheStatsDto(hits.get(), misses.get(), evictions.get(), size, maxEntries);
+    }
+
+    private Segment segmentFor(RouteDateKey key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static void removeIfLoading(Segment segment, RouteDateKey key, CompletableFuture<List<FlightSearchResultDto>> load) {
+        Slot current = segment.get(key);
+        if (current != null && current.rows() == load) {
+            segment.remove(key);
+        }
+    }
+
+    private static List<FlightSearchResultDto> join(CompletableFuture<List<FlightSearchResultDto>> rows) {
+        try {
+            return rows.join();
+        } catch (CompletionException ex) {
+            // callers waiting on someone else's load see the loader's own exception
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record RouteDateKey(int fromAirportId, int toAirportId, LocalDate date) {
+    }
+
+    private record Slot(CompletableFuture<List<FlightSearchResultDto>> rows, boolean loading, long expiresAt) {
+
+        boolean isFresh(long now) {
+            return loading || expiresAt - now > 0;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<RouteDateKey, Slot> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteDateKey, Slot> eldest) {
+            if (size() > capacity) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.flightapp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.config.DataSourceRouting;
+import com.flightapp.dto.SeatHoldDto;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.entity.SeatAssignment;
+import com.flightapp.entity.SeatHold;
+import com.flightapp.exception.ExceptionDueToSeat;
+import com.flightapp.exception.NotFoundException;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+import com.flightapp.repository.SeatHoldRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived seat holds taken during checkout. A hold is written like the
+ * first half of a booking, under the same local and cluster inventory locks:
+ * its seats go into seat_assignments under the hold id and come off
+ * available_seats, so every node sees them. Confirming hands the assignments
+ * to the booking, releasing or expiring gives them back. Holds taken here
+ * expire on a timer wheel; a periodic sweep expires the ones a stopped node
+ * left behind.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SLOTS = 512;
+    private static final int SWEEP_BATCH = 100;
+
+    private final FlightInventoryRepository inventoryRepo;
+
+    private final SeatAssignmentRepository seatAssignmentRepo;
+
+    private final SeatHoldRepository holdRepo;
+
+    private final SeatMapService seatMapService;
+
+    private final SearchCache searchCache;
+
+    private final RouteGraph routeGraph;
+
+    private final FareCalendarService fareCalendar;
+
+    private final InventoryLockManager lockManager;
+
+    private final InventoryLockProvider lockProvider;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long ttlSeconds;
+
+    private final ExpiryWheel<Due> wheel = new ExpiryWheel<>(WHEEL_SLOTS, TICK_MILLIS);
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "seat-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SeatHoldService(FlightInventoryRepository inventoryRepo, SeatAssignmentRepository seatAssignmentRepo,
+            SeatHoldRepository holdRepo, SeatMapService seatMapService, SearchCache searchCache, RouteGraph routeGraph,
+            FareCalendarService fareCalendar, InventoryLockManager lockManager, InventoryLockProvider lockProvider,
+            TransactionTemplate transactionTemplate, @Value("${flightapp.hold.ttl-seconds:300}") long ttlSeconds) {
+        this.inventoryRepo = inventoryRepo;
+        this.seatAssignmentRepo = seatAssignmentRepo;
+        this.holdRepo = holdRepo;
+        this.seatMapService = seatMapService;
+        this.searchCache = searchCache;
+        this.routeGraph = routeGraph;
+        this.fareCalendar = fareCalendar;
+        this.lockManager = lockManager;
+        this.lockProvider = lockProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlSeconds = ttlSeconds;
+        ticker.scheduleAtFixedRate(this::expireDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public SeatHoldDto hold(Long inventoryId, List<String> seatNumbers) {
+        List<String> seats = seatNumbers.stream().map(seat -> seat.toUpperCase(Locale.ROOT)).toList();
+        return withLocks(inventoryId, () -> transactionTemplate.execute(status -> holdLocked(inventoryId, seats)));
+    }
+
+    private SeatHoldDto holdLocked(Long inventoryId, List<String> seats) {
+        FlightInventory inventory = inventoryRepo.findById(inventoryId).filter(FlightInventory::isActive)
+                .orElseThrow(() -> new NotFoundException("Flight not found"));
+
+        seatMapService.reserve(inventoryId, seats);
+
+        String holdId = UUID.randomUUID().toString();
+        try {
+            seatAssignmentRepo.saveAllAndFlush(seats.stream()
+                    .map(seat -> SeatAssignment.builder().inventoryId(inventoryId).seatNumber(seat).holdId(holdId).build())
+                    .toList());
+        } catch (DataIntegrityViolationException ex) {
+            throw new ExceptionDueToSeat("One or more selected seats are already booked");
+        }
+        if (inventoryRepo.reserveSeats(inventoryId, seats.size()) == 0) {
+            throw new ExceptionDueToSeat("Not enough seats available");
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        holdRepo.save(SeatHold.builder().holdId(holdId).inventoryId(inventoryId).seatCount(seats.size()).expiresAt(expiresAt).build());
+        TransactionCallbacks.afterCommit(() -> {
+            seatsChanged(inventory, -seats.size());
+            wheel.schedule(new Due(holdId, inventoryId), TimeUnit.SECONDS.toMillis(ttlSeconds));
+        });
+        return new SeatHoldDto(holdId, inventoryId, seats, expiresAt);
+    }
+
+    public SeatHoldDto get(String holdId) {
+        // a hold taken a moment ago may not have reached the replica yet
+        return DataSourceRouting.onPrimary(() -> holdRepo.findById(holdId)
+                .filter(hold -> hold.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(hold -> new SeatHoldDto(holdId, hold.getInventoryId(), seatAssignmentRepo.findSeatNumbersByHoldId(holdId), hold.getExpiresAt())))
+                .orElseThrow(() -> new NotFoundException("Seat hold not found or expired"));
+    }
+
+    /**
+     * Hands the held seats to the booking under {@code pnr}. Runs in the
+     * caller's booking transaction, under its inventory locks, so a rollback
+     * leaves the hold in place.
+     */
+    public void claim(String holdId, String pnr) {
+        if (holdRepo.claim(holdId, LocalDateTime.now()) == 0) {
+            throw new NotFoundException("Seat hold not found or expired");
+        }
+        seatAssignmentRepo.assignHold(holdId, pnr);
+    }
+
+    public void release(String holdId) {
+        Long inventoryId = get(holdId).getInventoryId();
+        boolean released = withLocks(inventoryId, () -> transactionTemplate.execute(status ->
+                giveBack(holdId, inventoryId, holdRepo.remove(holdId))));
+        if (!released) {
+            throw new NotFoundException("Seat hold not found or expired");
+        }
+    }
+
+    /**
+     * Drops every hold on an inventory inside the caller's transaction, for a
+     * departure that is being taken off sale and has its seats reset anyway.
+     */
+    public void releaseAll(Long inventoryId) {
+        holdRepo.deleteByInventoryId(inventoryId);
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.hold.sweep-interval-ms:30000}", initialDelayString = "${flightapp.hold.sweep-interval-ms:30000}")
+    public void sweepExpired() {
+        for (SeatHold hold : holdRepo.findExpired(LocalDateTime.now(), Limit.of(SWEEP_BATCH))) {
+            expire(new Due(hold.getHoldId(), hold.getInventoryId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void expireDue() {
+        // an exception escaping a scheduleAtFixedRate task cancels every later run
+        try {
+            wheel.advance().forEach(this::expire);
+        } catch (RuntimeException ex) {
+            log.error("Seat hold expiry failed, retrying on the next tick", ex);
+        }
+    }
+
+    private void expire(Due due) {
+        try {
+            // confirmed or released holds are already gone and expire nothing
+            withLocks(due.inventoryId(), () -> transactionTemplate.execute(status ->
+                    giveBack(due.holdId(), due.inventoryId(), holdRepo.expire(due.holdId(), LocalDateTime.now()))));
+        } catch (RuntimeException ex) {
+            log.warn("Could not expire seat hold {}, leaving it to the sweep", due.holdId(), ex);
+        }
+    }
+
+    private boolean giveBack(String holdId, Long inventoryId, int removed) {
+        if (removed == 0) {
+            return false;
+        }
+        List<String> seats = seatAssignmentRepo.findSeatNumbersByHoldId(holdId);
+        seatAssignmentRepo.deleteByHoldId(holdId);
+        inventoryRepo.releaseSeats(inventoryId, seats.size());
+        seatMapService.release(inventoryId, seats);
+        inventoryRepo.findById(inventoryId).ifPresent(inventory ->
+                TransactionCallbacks.afterCommit(() -> seatsChanged(inventory, seats.size())));
+        return true;
+    }
+
+    private void seatsChanged(FlightInventory inventory, int delta) {
+        searchCache.adjustSeats(inventory.getFromAirportId(), inventory.getToAirportId(), inventory.getDepartureTime().toLocalDate(), inventory.getId(), delta);
+        routeGraph.adjustSeats(inventory.getId(), delta);
+        fareCalendar.markDirty(inventory.getFromAirportId(), inventory.getToAirportId(), inventory.getDepartureTime().toLocalDate());
+    }
+
+    private <T> T withLocks(Long inventoryId, Supplier<T> action) {
+        return lockManager.withLock(inventoryId, () -> lockProvider.withLock(inventoryId, action));
+    }
+
+    private record Due(String holdId, Long inventoryId) {
+    }
+}
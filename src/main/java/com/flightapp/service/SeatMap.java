@@ -0,0 +1,131 @@
+package com.flightapp.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.flightapp.exception.ExceptionDueToSeat;
+
+/**
+ * Occupancy bitmap for one flight inventory. Seat labels such as "12C" map to
+ * bit (row - 1) * 26 + (letter - 'A'), so checks never allocate.
+ */
+public class SeatMap {
+
+    private static final int SEATS_PER_ROW = 26;
+    private static final int MAX_LABEL_LENGTH = 4;
+
+    private long[] taken = new long[8];
+
+    public static SeatMap of(List<String> bookedSeats) {
+        SeatMap seatMap = new SeatMap();
+        seatMap.reset(bookedSeats);
+        return seatMap;
+    }
+
+    public static int indexOf(String seat) {
+        if (seat == null) {
+            return -1;
+        }
+        int length = seat.length();
+        if (length < 2 || length > MAX_LABEL_LENGTH) {
+            return -1;
+        }
+        int row = 0;
+        for (int i = 0; i < length - 1; i++) {
+            char c = seat.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+        char letter = Character.toUpperCase(seat.charAt(length - 1));
+        if (row < 1 || letter < 'A' || letter > 'Z') {
+            return -1;
+        }
+        return (row - 1) * SEATS_PER_ROW + (letter - 'A');
+    }
+
+    /**
+     * Replaces the occupancy with the booked seats.
+     */
+    public synchronized void reset(List<String> bookedSeats) {
+        taken = new long[taken.length];
+        for (String seat : bookedSeats) {
+            int index = indexOf(seat);
+            if (index >= 0) {
+                taken = set(taken, index);
+            }
+        }
+    }
+
+    /**
+     * Marks all seats as taken, or none of them if any seat is invalid, already
+     * taken or repeated in the request.
+     */
+    public synchronized void reserve(List<String> seats) {
+        for (String seat : seats) {
+            int index = indexOf(seat);
+            if (index < 0) {
+                throw new ExceptionDueToSeat("Invalid seat number " + seat);
+            }
+            if (get(taken, index)) {
+                throw new ExceptionDueToSeat("Seat " + seat + " is already booked");
+            }
+        }
+        for (int i = 0; i < seats.size(); i++) {
+            int index = indexOf(seats.get(i));
+            if (get(taken, index)) {
+                for (int j = 0; j < i; j++) {
+                    clear(taken, indexOf(seats.get(j)));
+                }
+                throw new ExceptionDueToSeat("Duplicate seat numbers in the request");
+            }
+            taken = set(taken, index);
+        }
+    }
+
+    public synchronized void release(List<String> seats) {
+        for (String seat : seats) {
+            int index = indexOf(seat);
+            if (index >= 0) {
+                clear(taken, index);
+            }
+        }
+    }
+
+    public synchronized boolean anyTaken(List<String> seats) {
+        for (String seat : seats) {
+            int index = indexOf(seat);
+            if (index >= 0 && get(taken, index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized boolean isTaken(String seat) {
+        int index = indexOf(seat);
+        return index >= 0 && get(taken, index);
+    }
+
+    private static boolean get(long[] words, int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    private static long[] set(long[] words, int index) {
+        int word = index >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+        }
+        words[word] |= 1L << index;
+        return words;
+    }
+
+    private static void clear(long[] words, int index) {
+        int word = index >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << index);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightapp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.repository.SeatAssignmentRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class SeatMapService {
+
+    private final SeatAssignmentRepository seatAssignmentRepo;
+
+    private final Map<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public void reserve(Long inventoryId, List<String> seats) {
+        SeatMap seatMap = confirmedSeatMap(inventoryId, seats);
+        seatMap.reserve(seats);
+        TransactionCallbacks.afterRollback(() -> seatMap.release(seats));
+    }
+
+    public void release(Long inventoryId, List<String> seats) {
+        SeatMap seatMap = seatMaps.get(inventoryId);
+        if (seatMap != null) {
+            TransactionCallbacks.afterCommit(() -> seatMap.release(seats));
+        }
+    }
+
+    public void evict(Long inventoryId) {
+        seatMaps.remove(inventoryId);
+    }
+
+    private SeatMap confirmedSeatMap(Long inventoryId, List<String> seats) {
+        SeatMap seatMap = seatMapFor(inventoryId);
+        if (seatMap.anyTaken(seats)) {
+            // another node may have released the seat, so confirm against the table before rejecting
+            seatMap.reset(seatAssignmentRepo.findSeatNumbersByInventoryId(inventoryId));
+        }
+        return seatMap;
+    }
+
+    private SeatMap seatMapFor(Long inventoryId) {
+        return seatMaps.computeIfAbsent(inventoryId, id -> SeatMap.of(seatAssignmentRepo.findSeatNumbersByInventoryId(id)));
+    }
+}
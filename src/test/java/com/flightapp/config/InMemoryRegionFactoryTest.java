@@ -0,0 +1,51 @@
+package com.flightapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRegionFactoryTest {
+
+    @Test
+    void entries_expireAfterTtl() throws Exception {
+        InMemoryRegionFactory.MapStorageAccess region = new InMemoryRegionFactory.MapStorageAccess(10, TimeUnit.MILLISECONDS.toNanos(50));
+        region.putIntoCache("AI-101", "flight", null);
+        assertEquals("flight", region.getFromCache("AI-101", null));
+
+        Thread.sleep(80);
+
+        assertFalse(region.contains("AI-101"));
+        assertNull(region.getFromCache("AI-101", null));
+    }
+
+    @Test
+    void fullRegion_evictsLeastRecentlyUsedEntry() {
+        InMemoryRegionFactory.MapStorageAccess region = new InMemoryRegionFactory.MapStorageAccess(2, TimeUnit.MINUTES.toNanos(10));
+        region.putIntoCache("AI-101", "first", null);
+        region.putIntoCache("AI-102", "second", null);
+        region.getFromCache("AI-101", null);
+
+        region.putIntoCache("AI-103", "third", null);
+
+        assertEquals("first", region.getFromCache("AI-101", null));
+        assertNull(region.getFromCache("AI-102", null));
+        assertEquals("third", region.getFromCache("AI-103", null));
+        assertEquals(2, region.size());
+    }
+
+    @Test
+    void regions_areScopedToTheirFactory() {
+        InMemoryRegionFactory first = new InMemoryRegionFactory();
+        InMemoryRegionFactory second = new InMemoryRegionFactory();
+
+        InMemoryRegionFactory.MapStorageAccess flights = (InMemoryRegionFactory.MapStorageAccess)
+                first.createQueryResultsRegionStorageAccess("flights", null);
+        flights.putIntoCache("AI-101", "flight", null);
+
+        assertNull(((InMemoryRegionFactory.MapStorageAccess) second.createQueryResultsRegionStorageAccess("flights", null))
+                .getFromCache("AI-101", null));
+        assertSame(flights, first.createQueryResultsRegionStorageAccess("flights", null));
+    }
+}
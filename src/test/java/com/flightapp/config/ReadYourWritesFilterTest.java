@@ -0,0 +1,43 @@
+package com.flightapp.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+
+    @Test
+    void write_handsOutCookie_andSearchDoesNot() throws Exception {
+        MockHttpServletResponse booked = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1.0/flight/booking/7"), booked, (req, res) -> { });
+        Cookie cookie = booked.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+
+        MockHttpServletResponse searched = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1.0/flight/search"), searched, (req, res) -> { });
+        assertNull(searched.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void unexpiredCookie_keepsRequestOnPrimary() throws Exception {
+        assertTrue(readsOnPrimary(System.currentTimeMillis() + 5000));
+        assertFalse(readsOnPrimary(System.currentTimeMillis() - 1));
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    private boolean readsOnPrimary(long windowEnd) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/flight/ticket/PNR1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(windowEnd)));
+        AtomicBoolean primary = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> primary.set(DataSourceRouting.isPrimaryForced()));
+        return primary.get();
+    }
+}
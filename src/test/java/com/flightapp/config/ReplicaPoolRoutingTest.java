@@ -0,0 +1,59 @@
+package com.flightapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightapp.repository.FlightRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two real Hikari pools, the replica pointing at the same database
+ * as the primary, and checks which pool lends the connection.
+ */
+@SpringBootTest(properties = "flightapp.datasource.replica.url=${spring.datasource.url}")
+class ReplicaPoolRoutingTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Test
+    void readOnlyTransactionBorrowsFromReplicaPool() {
+        ReadWriteRoutingDataSource routing = context.getBean("routingDataSource", ReadWriteRoutingDataSource.class);
+        HikariDataSource primary = (HikariDataSource) routing.getResolvedDataSources().get(ReadWriteRoutingDataSource.PRIMARY);
+        HikariDataSource replica = (HikariDataSource) routing.getResolvedDataSources().get(ReadWriteRoutingDataSource.REPLICA);
+        assertNotSame(primary, replica);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            flightRepo.count();
+            assertEquals(1, replica.getHikariPoolMXBean().getActiveConnections());
+        });
+
+        DataSourceRouting.onPrimary(() -> readOnly.execute(status -> {
+            flightRepo.count();
+            assertEquals(0, replica.getHikariPoolMXBean().getActiveConnections());
+            // scheduled jobs share the primary pool, so only a lower bound holds there
+            assertTrue(primary.getHikariPoolMXBean().getActiveConnections() >= 1);
+            return null;
+        }));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            flightRepo.count();
+            assertEquals(0, replica.getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+}
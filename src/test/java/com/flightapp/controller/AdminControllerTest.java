@@ -0,0 +1,127 @@
+package com.flightapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerDto;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import com.flightapp.service.AirportRegistry;
+import com.flightapp.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepo;
+
+    private Long flightId;
+
+    @BeforeEach
+    void setup() {
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        flightRepo.deleteAll();
+
+        Flight flight = flightRepo.save(Flight.builder().flightNumber("6E-512").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
+
+        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
+                .departureTime(LocalDateTime.now().plusDays(2)).arrivalTime(LocalDateTime.now().plusDays(2).plusHours(2)).active(true).build());
+
+        flightId = inv.getId();
+    }
+
+    @Test
+    void testCancelInventory_cancelsAllBookingsAndDeactivates() throws Exception {
+
+        List<String> pnrs = new ArrayList<>();
+        for (String seat : List.of("30A", "30B")) {
+            BookingRequestDto dto = new BookingRequestDto();
+            dto.setEmail("cancelall@gmail.com");
+            dto.setNumberOfSeats(1);
+
+            PassengerDto p = new PassengerDto();
+            p.setName("Rohit");
+            p.setGender("M");
+            p.setAge(28);
+            p.setSeatNumber(seat);
+            p.setMealOption("VEG");
+            dto.setPassengers(List.of(p));
+            dto.setSeatNumbers(List.of(seat));
+            dto.setMealOption("Mix");
+
+            String bookingResponse = mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                    .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+            pnrs.add(objectMapper.readTree(bookingResponse).get("pnr").asText());
+        }
+
+        String holdResponse = mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"31A\"]}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResponse).get("holdId").asText();
+        assertEquals(177, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+
+        MvcResult result = mockMvc.perform(post("/api/v1.0/flight/admin/inventory/" + flightId + "/cancel"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(Set.copyOf(pnrs), Set.copyOf(List.of(body.trim().split("\n"))));
+        mockMvc.perform(get("/api/v1.0/flight/ticket/" + pnrs.get(0))).andExpect(status().isNotFound());
+
+        FlightInventory inventory = inventoryRepo.findById(flightId).orElseThrow();
+        assertEquals(180, inventory.getAvailableSeats());
+        assertFalse(inventory.isActive());
+        assertFalse(seatHoldRepo.existsById(holdId));
+        assertEquals(0, bookingService.cancelBookingsForInventory(flightId, page -> { throw new AssertionError(page); }));
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"30A\"]}"))
+                .andExpect(status().isNotFound());
+    }
+}
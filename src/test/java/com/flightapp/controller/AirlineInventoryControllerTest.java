@@ -1,6 +1,7 @@
 package com.flightapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.BulkInventoryRequestDto;
 import com.flightapp.dto.InventoryRequestDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +11,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,6 +51,20 @@ class AirlineInventoryControllerTest {
                 .andExpect(status().isCreated()).andExpect(jsonPath("$.message").value("Inventory added successfully"));
     }
 
+    @Test
+    void addInventory_newFlightPlacesAreSuggested() throws Exception {
+        InventoryRequestDto dto = buildValidDto();
+        dto.setFlightNumber("6E-777");
+        dto.setFromPlace("Shimla");
+
+        mockMvc.perform(post("/api/v1.0/flight/airline/inventory/add")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1.0/flight/search/places").param("prefix", "shi"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$[0]").value("Shimla"));
+    }
+
     @Test
     void addInventory_validationError_missingAirlineName() throws Exception {
         InventoryRequestDto dto = buildValidDto();
@@ -154,4 +171,37 @@ class AirlineInventoryControllerTest {
                 .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isBadRequest()).andExpect(jsonPath("$.error").value("Available seats cannot be greater than total seats"));
     }
+
+    @Test
+    void addInventoryBulk_reportsEachRow() throws Exception {
+        InventoryRequestDto first = buildValidDto();
+        first.setFlightNumber("6E-901");
+        InventoryRequestDto repeated = buildValidDto();
+        repeated.setFlightNumber("6E-901");
+        repeated.setDepartureTime(first.getDepartureTime());
+        InventoryRequestDto invalid = buildValidDto();
+        invalid.setFlightNumber("6E-902");
+        invalid.setAvailableSeats(300);
+
+        BulkInventoryRequestDto bulk = new BulkInventoryRequestDto();
+        bulk.setInventories(List.of(first, repeated, invalid));
+
+        mockMvc.perform(post("/api/v1.0/flight/airline/inventory/bulk")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(bulk)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED")).andExpect(jsonPath("$[0].inventoryId").exists())
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[2].status").value("INVALID"))
+                .andExpect(jsonPath("$[2].message").value("Available seats cannot be greater than total seats"));
+    }
+
+    @Test
+    void addInventoryBulk_validationError_empty() throws Exception {
+        BulkInventoryRequestDto bulk = new BulkInventoryRequestDto();
+        bulk.setInventories(List.of());
+
+        mockMvc.perform(post("/api/v1.0/flight/airline/inventory/bulk")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(bulk)))
+                .andExpect(status().isBadRequest()).andExpect(jsonPath("$.inventories").exists());
+    }
 }
@@ -9,17 +9,26 @@ import com.flightapp.entity.FlightInventory;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightInventoryRepository;
 import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.AirportRegistry;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.PnrGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,9 +48,18 @@ class BookingControllerIntegrationTest {
     @Autowired
     private FlightInventoryRepository inventoryRepo;
 
+    @Autowired
+    private AirportRegistry airports;
+
     @Autowired
     private BookingRepository bookingRepo;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @MockitoSpyBean
+    private PnrGenerator pnrGenerator;
+
     private Long flightId;
 
     @BeforeEach
@@ -52,7 +70,7 @@ class BookingControllerIntegrationTest {
 
         Flight flight = flightRepo.save(Flight.builder().flightNumber("6E-512").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
 
-        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).price(4500.0).totalSeats(180).availableSeats(180)
+        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
                 .departureTime(LocalDateTime.now().plusDays(2)).arrivalTime(LocalDateTime.now().plusDays(2).plusHours(2)).active(true).build());
 
         flightId = inv.getId();
@@ -234,7 +252,71 @@ class BookingControllerIntegrationTest {
         mockMvc.perform(delete("/api/v1.0/flight/booking/cancel/"))
                 .andExpect(status().isNotFound());
     }
-    
-    
-    
+
+    @Test
+    void testBookTickets_ThenHistoryPages() throws Exception {
+
+        for (String seat : List.of("20A", "20B", "20C")) {
+            BookingRequestDto dto = new BookingRequestDto();
+            dto.setEmail("pages@gmail.com");
+            dto.setNumberOfSeats(1);
+
+            PassengerDto p = new PassengerDto();
+            p.setName("Rohit");
+            p.setGender("M");
+            p.setAge(28);
+            p.setSeatNumber(seat);
+            p.setMealOption("VEG");
+            dto.setPassengers(List.of(p));
+            dto.setSeatNumbers(List.of(seat));
+            dto.setMealOption("Mix");
+
+            mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                    .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isOk());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1.0/flight/booking/history/pages@gmail.com").param("size", "2"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.bookings.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").exists()).andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/api/v1.0/flight/booking/history/pages@gmail.com").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.bookings.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1.0/flight/booking/history/pages@gmail.com").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBookTicket_repeatedPnr_isRetried() throws Exception {
+
+        BookingRequestDto first = new BookingRequestDto();
+        first.setEmail("collide@gmail.com");
+        first.setNumberOfSeats(1);
+
+        PassengerDto p = new PassengerDto();
+        p.setName("Rohit");
+        p.setGender("M");
+        p.setAge(28);
+        p.setSeatNumber("17A");
+        p.setMealOption("VEG");
+        first.setPassengers(List.of(p));
+        first.setSeatNumbers(List.of("17A"));
+        first.setMealOption("Mix");
+        String pnr = bookingService.bookTicket(flightId, first).getPnr();
+
+        BookingRequestDto second = objectMapper.readValue(objectMapper.writeValueAsString(first), BookingRequestDto.class);
+        second.getPassengers().get(0).setSeatNumber("17B");
+        second.setSeatNumbers(List.of("17B"));
+        // as after a restart that reissues a PNR from a borrowed second
+        doReturn(pnr).doCallRealMethod().when(pnrGenerator).next();
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.pnr").value(not(pnr)));
+        assertEquals(178, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+        verify(pnrGenerator, times(3)).next();
+    }
 }
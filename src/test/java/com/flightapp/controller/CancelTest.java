@@ -10,6 +10,7 @@ import com.flightapp.entity.FlightInventory;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightInventoryRepository;
 import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.AirportRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +18,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,9 +45,15 @@ public class CancelTest {
     @Autowired
     private FlightInventoryRepository inventoryRepo;
 
+    @Autowired
+    private AirportRegistry airports;
+
     @Autowired
     private BookingRepository bookingRepo;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private Long flightId;
     private Long flightId2;
     @BeforeEach
@@ -53,9 +64,9 @@ public class CancelTest {
 
         Flight flight = flightRepo.save(Flight.builder().flightNumber("6E-512").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
         Flight flight2 = flightRepo.save(Flight.builder().flightNumber("6E-515").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
-        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).price(4500.0).totalSeats(180).availableSeats(180)
+        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
                 .departureTime(LocalDateTime.now().plusDays(2)).arrivalTime(LocalDateTime.now().plusDays(2).plusHours(2)).active(true).build());
-        FlightInventory inv2 = inventoryRepo.save(FlightInventory.builder().flight(flight2).price(4500.0).totalSeats(180).availableSeats(180)
+        FlightInventory inv2 = inventoryRepo.save(FlightInventory.builder().flight(flight2).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
                 .departureTime(LocalDateTime.now()).arrivalTime(LocalDateTime.now().plusHours(2)).active(true).build());
 
         flightId = inv.getId();
@@ -85,6 +96,35 @@ public class CancelTest {
         String pnr = objectMapper.readTree(bookingResponse).get("pnr").asText();
         mockMvc.perform(delete("/api/v1.0/flight/booking/cancel/" + pnr)).andExpect(status().isOk());
 
+    }
+    @Test
+    void testCancel_seatCountDrift_isConflict() throws Exception {
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("drift@gmail.com");
+        dto.setNumberOfSeats(1);
+
+        PassengerDto p = new PassengerDto();
+        p.setName("Rohit");
+        p.setGender("M");
+        p.setAge(28);
+        p.setSeatNumber("14C");
+        p.setMealOption("VEG");
+        dto.setPassengers(List.of(p));
+        dto.setSeatNumbers(List.of("14C"));
+        dto.setMealOption("Mix");
+
+        String bookingResponse = mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String pnr = objectMapper.readTree(bookingResponse).get("pnr").asText();
+
+        // the count drifts back to the total while the booking still holds a seat
+        transactionTemplate.executeWithoutResult(status -> inventoryRepo.releaseSeats(flightId, 1));
+
+        mockMvc.perform(delete("/api/v1.0/flight/booking/cancel/" + pnr)).andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(containsString("disagree")));
+        assertFalse(bookingRepo.findByPnr(pnr).orElseThrow().isCancelled());
     }
 	@Test
     void testBookTicket_success_and_cancelTimeLimit() throws Exception {
@@ -185,7 +225,8 @@ public class CancelTest {
                 .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
 
         String pnr = objectMapper.readTree(bookingResponse).get("pnr").asText();
-        mockMvc.perform(get("/api/v1.0/flight/ticket/" + pnr)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1.0/flight/ticket/" + pnr)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.flightNumber").value("6E-512")).andExpect(jsonPath("$.passengers[0].seatNumber").value("12A"));
     }
     @Test
     void testBookTicket_ThenHistory() throws Exception {
@@ -212,4 +253,63 @@ public class CancelTest {
         mockMvc.perform(get("/api/v1.0/flight/booking/history/" + "test@gmail.com")).andExpect(status().isOk());
     }
     
+    @Test
+    void testBookTicket_sameSeatTwice_thenCancelAndRebook() throws Exception {
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("test@gmail.com");
+        dto.setNumberOfSeats(1);
+
+        PassengerDto p = new PassengerDto();
+        p.setName("Rohit");
+        p.setGender("M");
+        p.setAge(28);
+        p.setSeatNumber("12A");
+        p.setMealOption("VEG");
+        dto.setPassengers(List.of(p));
+        dto.setSeatNumbers(List.of("12A"));
+        dto.setMealOption("Mix");
+
+        String bookingResponse = mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound()).andExpect(jsonPath("$.error").value("Seat 12A is already booked"));
+
+        String pnr = objectMapper.readTree(bookingResponse).get("pnr").asText();
+        mockMvc.perform(delete("/api/v1.0/flight/booking/cancel/" + pnr)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testBookTicket_thenCancel_updatesAvailableSeats() throws Exception {
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("test@gmail.com");
+        dto.setNumberOfSeats(1);
+
+        PassengerDto p = new PassengerDto();
+        p.setName("Rohit");
+        p.setGender("M");
+        p.setAge(28);
+        p.setSeatNumber("14C");
+        p.setMealOption("VEG");
+        dto.setPassengers(List.of(p));
+        dto.setSeatNumbers(List.of("14C"));
+        dto.setMealOption("Mix");
+
+        String bookingResponse = mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertEquals(179, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+
+        String pnr = objectMapper.readTree(bookingResponse).get("pnr").asText();
+        mockMvc.perform(delete("/api/v1.0/flight/booking/cancel/" + pnr)).andExpect(status().isOk());
+        assertEquals(180, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+    }
 }
@@ -0,0 +1,100 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.flightapp.dto.FlightSearchResultDto;
+import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.SearchRequestDto;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.AirportRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AirportRegistryTest {
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private AirportRepository airportRepo;
+
+    @Autowired
+    private FlightInventoryService inventoryService;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @AfterEach
+    void cleanup() {
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void normalize_trimsCollapsesAndLowercases() {
+        assertEquals("new delhi", AirportRegistry.normalize("  New \t Delhi "));
+        assertEquals("", AirportRegistry.normalize("   "));
+        assertEquals("", AirportRegistry.normalize(null));
+    }
+
+    @Test
+    void find_matchesNameVariantsAndCode() {
+        Integer delhi = airports.find("Delhi");
+
+        assertNotNull(delhi);
+        assertEquals(delhi, airports.find("delhi "));
+        assertEquals(delhi, airports.find("DEL"));
+        assertNotEquals(delhi, airports.find("Mumbai"));
+        assertNull(airports.find("Atlantis"));
+    }
+
+    @Test
+    void register_addsUnknownPlaceOnce() {
+        Integer id = airports.register("Shillong ");
+
+        assertEquals(id, airports.register("shillong"));
+        assertEquals(id, airports.find("SHILLONG"));
+        assertEquals("shillong", airportRepo.findById(id).orElseThrow().getNameKey());
+    }
+
+    @Test
+    void search_ignoresCaseAndSpacingOfPlaces() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(3).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        InventoryRequestDto dto = new InventoryRequestDto();
+        dto.setAirlineName("IndiGo");
+        dto.setAirlineLogo("https://indigo/logo.png");
+        dto.setFlightNumber("6E-900");
+        dto.setFromPlace("Delhi");
+        dto.setToPlace("Mumbai");
+        dto.setDepartureTime(departure);
+        dto.setArrivalTime(departure.plusHours(2));
+        dto.setPrice(4100.0);
+        dto.setTotalSeats(180);
+        dto.setAvailableSeats(180);
+        FlightInventory saved = inventoryService.addInventory(dto);
+
+        assertEquals(airports.find("Delhi"), saved.getFromAirportId());
+
+        SearchRequestDto search = new SearchRequestDto();
+        search.setFromPlace(" delhi");
+        search.setToPlace("BOM");
+        search.setJourneyDate(departure.toLocalDate());
+        search.setTripType("ONE_WAY");
+        Map<String, List<FlightSearchResultDto>> result = inventoryService.searchFlights(search);
+
+        assertEquals(saved.getId(), result.get("onwardFlights").get(0).getInventoryId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.flightapp.dto.BookingHistoryPageDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.entity.Passenger;
+import com.flightapp.repository.ArchivedBookingRepository;
+import com.flightapp.repository.ArchivedFlightInventoryRepository;
+import com.flightapp.repository.ArchivedPassengerRepository;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ArchiveServiceTest {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private ArchivedFlightInventoryRepository archivedInventoryRepo;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepo;
+
+    @Autowired
+    private ArchivedPassengerRepository archivedPassengerRepo;
+
+    @AfterEach
+    void cleanup() {
+        archivedPassengerRepo.deleteAllInBatch();
+        archivedBookingRepo.deleteAllInBatch();
+        archivedInventoryRepo.deleteAllInBatch();
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void archiveDeparted_movesOldRowsAndKeepsLookupsWorking() {
+        Flight flight = flightRepo.save(Flight.builder().flightNumber("AR-1").airlineName("ArchiveAir")
+                .fromPlace("Delhi").toPlace("Leh").build());
+        LocalDateTime departed = LocalDateTime.now().minusDays(40);
+        LocalDateTime upcoming = LocalDateTime.now().plusDays(10);
+        FlightInventory oldInventory = saveInventory(flight, departed);
+        FlightInventory newInventory = saveInventory(flight, upcoming);
+
+        saveBooking(flight, oldInventory, "PNROLD", departed.minusDays(5), "14A");
+        saveBooking(flight, newInventory, "PNRNEW", LocalDateTime.now().minusDays(1), "3C");
+
+        assertEquals(1, archiveService.archiveDeparted());
+
+        assertTrue(bookingRepo.findByPnr("PNROLD").isEmpty());
+        assertFalse(inventoryRepo.existsById(oldInventory.getId()));
+        assertTrue(inventoryRepo.existsById(newInventory.getId()));
+        assertEquals(airports.find("Leh"), archivedInventoryRepo.findById(oldInventory.getId()).orElseThrow().getToAirportId());
+
+        TicketDto ticket = bookingService.getByPnr("PNROLD");
+        assertEquals("AR-1", ticket.getFlightNumber());
+        assertEquals("14A", ticket.getPassengers().get(0).getSeatNumber());
+
+        BookingHistoryPageDto firstPage = bookingService.history("archive@gmail.com", 1, null);
+        assertEquals("PNRNEW", firstPage.getBookings().get(0).getPnr());
+        BookingHistoryPageDto secondPage = bookingService.history("archive@gmail.com", 1, firstPage.getNextCursor());
+        assertEquals("PNROLD", secondPage.getBookings().get(0).getPnr());
+        assertEquals(1, secondPage.getBookings().get(0).getPassengerCount());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    private FlightInventory saveInventory(Flight flight, LocalDateTime departure) {
+        return inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Leh")).price(5200.0).totalSeats(120).availableSeats(119)
+                .departureTime(departure).arrivalTime(departure.plusHours(1)).build());
+    }
+
+    private void saveBooking(Flight flight, FlightInventory inventory, String pnr, LocalDateTime bookingTime, String seat) {
+        Passenger passenger = Passenger.builder().name("Meera").gender("F").age(31).seatNumber(seat).mealOption("VEG").build();
+        bookingRepo.save(Booking.builder().pnr(pnr).email("archive@gmail.com").bookingTime(bookingTime)
+                .departureTime(inventory.getDepartureTime()).arrivalTime(inventory.getArrivalTime())
+                .journeyDateTime(inventory.getDepartureTime()).flight(flight).inventoryId(inventory.getId())
+                .totalPrice(5200.0).passengers(List.of(passenger)).cancelled(false).build());
+    }
+}
@@ -0,0 +1,157 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.exception.ExceptionDueToSeat;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "flightapp.booking.mode=pipeline")
+class BookingPipelineTest {
+
+    @Autowired
+    private BookingPipeline bookingPipeline;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private SeatAssignmentRepository seatAssignmentRepo;
+
+    @AfterEach
+    void cleanup() {
+        seatAssignmentRepo.deleteAllInBatch();
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentBookings_sameDeparture_noDoubleBooking() throws Exception {
+        Long inventoryId = seedInventory("PL-100");
+
+        List<String> seats = new ArrayList<>();
+        for (int row = 1; row <= 5; row++) {
+            for (char letter = 'A'; letter <= 'F'; letter++) {
+                seats.add(row + String.valueOf(letter));
+            }
+        }
+        List<String> requested = new ArrayList<>(seats);
+        requested.addAll(seats.subList(0, 10));
+
+        int booked = run(requested, inventoryId, 16, bookingPipeline::book);
+
+        assertEquals(seats.size(), booked);
+        assertEquals(180 - seats.size(), inventoryRepo.findById(inventoryId).orElseThrow().getAvailableSeats());
+        assertEquals(seats.size(), seatAssignmentRepo.findSeatNumbersByInventoryId(inventoryId).size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_directVsPipeline() throws Exception {
+        List<String> seats = new ArrayList<>();
+        for (int row = 1; row <= 30; row++) {
+            for (char letter = 'A'; letter <= 'F'; letter++) {
+                seats.add(row + String.valueOf(letter));
+            }
+        }
+
+        Long directId = seedInventory("PL-200");
+        long start = System.nanoTime();
+        run(seats, directId, 32, bookingService::bookTicket);
+        long directMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Long pipelineId = seedInventory("PL-300");
+        start = System.nanoTime();
+        run(seats, pipelineId, 32, bookingPipeline::book);
+        long pipelineMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%d bookings on one departure with 32 clients: direct %d ms, pipeline %d ms%n",
+                seats.size(), directMillis, pipelineMillis);
+    }
+
+    private int run(List<String> seats, Long inventoryId, int clients,
+            BiFunction<Long, BookingRequestDto, TicketDto> book) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (String seat : seats) {
+                results.add(pool.submit(() -> {
+                    try {
+                        book.apply(inventoryId, request(seat));
+                        return true;
+                    } catch (ExceptionDueToSeat ex) {
+                        return false;
+                    }
+                }));
+            }
+            int booked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    booked++;
+                }
+            }
+            return booked;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Long seedInventory(String flightNumber) {
+        Flight flight = flightRepo.save(Flight.builder().flightNumber(flightNumber).airlineName("PipeAir")
+                .fromPlace("Delhi").toPlace("Goa").build());
+        return inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Goa")).price(3000.0).totalSeats(180).availableSeats(180)
+                .departureTime(LocalDateTime.now().plusDays(3)).arrivalTime(LocalDateTime.now().plusDays(3).plusHours(2))
+                .build()).getId();
+    }
+
+    private static BookingRequestDto request(String seat) {
+        PassengerDto passenger = new PassengerDto();
+        passenger.setName("Asha");
+        passenger.setGender("F");
+        passenger.setAge(30);
+        passenger.setSeatNumber(seat);
+        passenger.setMealOption("VEG");
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("pipeline@gmail.com");
+        dto.setNumberOfSeats(1);
+        dto.setPassengers(List.of(passenger));
+        dto.setSeatNumbers(List.of(seat));
+        dto.setMealOption("VEG");
+        return dto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.TicketDto;
+import com.flightapp.exception.ServiceBusyException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingPipelineTimeoutTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+
+    private BookingPipeline pipeline;
+
+    @AfterEach
+    void stop() {
+        pipeline.stop();
+    }
+
+    @Test
+    void timedOutRequest_isNeverBooked() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        BookingRequestDto first = new BookingRequestDto();
+        BookingRequestDto second = new BookingRequestDto();
+        first.setEmail("first@gmail.com");
+        second.setEmail("second@gmail.com");
+        when(bookingService.bookAll(eq(1L), anyList(), anyList())).thenAnswer(invocation -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+            return List.of(new TicketDto());
+        });
+        pipeline = new BookingPipeline(bookingService, "pipeline", 1, 16, 10, 100);
+        pipeline.start();
+
+        CompletableFuture<TicketDto> firstResult = CompletableFuture.supplyAsync(() -> pipeline.book(1L, first));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceBusyException.class, () -> pipeline.book(1L, second));
+        releaseFirst.countDown();
+
+        assertNotNull(firstResult.get(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        verify(bookingService, never()).bookAll(anyLong(), argThat(dtos -> dtos.contains(second)), anyList());
+        verify(bookingService, never()).bookTicket(anyLong(), same(second), any());
+    }
+
+    @Test
+    void startedRequest_outlivesTimeout() throws Exception {
+        when(bookingService.bookAll(eq(2L), anyList(), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of(new TicketDto());
+        });
+        pipeline = new BookingPipeline(bookingService, "pipeline", 1, 16, 10, 100);
+        pipeline.start();
+
+        assertNotNull(pipeline.book(2L, new BookingRequestDto()));
+    }
+}
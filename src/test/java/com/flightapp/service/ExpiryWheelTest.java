@@ -0,0 +1,35 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryWheelTest {
+
+    @Test
+    void advance_returnsEntriesWhenDue() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(8, 1000);
+        wheel.schedule("a", 1000);
+        wheel.schedule("b", 2500);
+
+        assertEquals(List.of("a"), wheel.advance());
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of("b"), wheel.advance());
+    }
+
+    @Test
+    void advance_handlesDelaysLongerThanOneRevolution() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(4, 1000);
+        wheel.schedule("late", 10_000);
+
+        List<String> expired = new ArrayList<>();
+        for (int tick = 1; tick <= 9; tick++) {
+            expired.addAll(wheel.advance());
+        }
+        assertTrue(expired.isEmpty());
+        assertEquals(List.of("late"), wheel.advance());
+    }
+}
@@ -0,0 +1,181 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.FareCalendarDayDto;
+import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.PassengerDto;
+import com.flightapp.entity.FareCalendarDay;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.exception.ExceptionDuetoTiming;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FareCalendarDayRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class FareCalendarServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(20);
+
+    @Autowired
+    private FareCalendarService fareCalendar;
+
+    @Autowired
+    private FlightInventoryService inventoryService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @MockitoSpyBean
+    private FareCalendarDayRepository calendarRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private SeatAssignmentRepository seatAssignmentRepo;
+
+    @AfterEach
+    void cleanup() {
+        calendarRepo.deleteAllInBatch();
+        seatAssignmentRepo.deleteAllInBatch();
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void calendar_tracksMinimumFareAndSeatsPerDay() {
+        FlightInventory cheap = inventoryService.addInventory(inventory("FC-1", DAY, 9, 3800.0, 1));
+        inventoryService.addInventory(inventory("FC-2", DAY, 15, 5200.0, 50));
+        inventoryService.addInventory(inventory("FC-3", DAY.plusDays(2), 7, 4100.0, 20));
+        fareCalendar.flush();
+
+        List<FareCalendarDayDto> days = fareCalendar.calendar("Kochi", "Chennai", DAY.minusDays(3), DAY.plusDays(3));
+        assertEquals(2, days.size());
+        assertEquals(DAY, days.get(0).getDate());
+        assertEquals(3800.0, days.get(0).getMinPrice());
+        assertEquals(51, days.get(0).getAvailableSeats());
+        assertEquals(2, days.get(0).getDepartures());
+        assertEquals(4100.0, days.get(1).getMinPrice());
+
+        bookingService.bookTicket(cheap.getId(), booking("4B"));
+        fareCalendar.flush();
+
+        FareCalendarDayDto afterBooking = fareCalendar.calendar("Kochi", "Chennai", DAY, DAY).get(0);
+        assertEquals(5200.0, afterBooking.getMinPrice());
+        assertEquals(50, afterBooking.getAvailableSeats());
+
+        assertThrows(ExceptionDuetoTiming.class, () -> fareCalendar.calendar("Kochi", "Chennai", DAY, DAY.minusDays(1)));
+        assertEquals(List.of(), fareCalendar.calendar("Kochi", "Atlantis", DAY, DAY));
+
+        calendarRepo.deleteAllInBatch();
+        fareCalendar.seedIfEmpty();
+        assertEquals(2, fareCalendar.calendar("COK", "MAA", DAY.minusDays(3), DAY.plusDays(3)).size());
+    }
+
+    @Test
+    void calendar_countsDeparturesInTheLastSecondOfTheDay() {
+        InventoryRequestDto lateNight = inventory("FC-6", DAY, 22, 3800.0, 10);
+        lateNight.setDepartureTime(DAY.atTime(23, 59, 59, 500_000_000));
+        lateNight.setArrivalTime(DAY.plusDays(1).atTime(1, 30));
+        inventoryService.addInventory(lateNight);
+        inventoryService.addInventory(inventory("FC-7", DAY.plusDays(1), 0, 4100.0, 10));
+        fareCalendar.flush();
+
+        List<FareCalendarDayDto> days = fareCalendar.calendar("Kochi", "Chennai", DAY, DAY.plusDays(1));
+        assertEquals(2, days.size());
+        assertEquals(1, days.get(0).getDepartures());
+        assertEquals(3800.0, days.get(0).getMinPrice());
+        assertEquals(1, days.get(1).getDepartures());
+        assertEquals(4100.0, days.get(1).getMinPrice());
+    }
+
+    @Test
+    void reconcile_repairsDriftedAndOrphanedDays() {
+        inventoryService.addInventory(inventory("FC-4", DAY, 9, 3800.0, 10));
+        fareCalendar.flush();
+
+        FareCalendarDay drifted = calendarRepo.findByFromAirportIdAndToAirportIdAndTravelDate(airports.find("Kochi"), airports.find("Chennai"), DAY).orElseThrow();
+        drifted.setMinPrice(1.0);
+        calendarRepo.save(drifted);
+        calendarRepo.save(FareCalendarDay.builder().fromAirportId(drifted.getFromAirportId()).toAirportId(drifted.getToAirportId())
+                .travelDate(DAY.plusDays(1)).minPrice(900.0).availableSeats(5L).departures(1L).updatedAt(drifted.getUpdatedAt()).build());
+
+        fareCalendar.reconcile();
+
+        List<FareCalendarDayDto> days = fareCalendar.calendar("Kochi", "Chennai", DAY, DAY.plusDays(1));
+        assertEquals(1, days.size());
+        assertEquals(3800.0, days.get(0).getMinPrice());
+    }
+
+    @Test
+    void flush_requeuesDayWhenDatabaseFails() {
+        inventoryService.addInventory(inventory("FC-5", DAY, 9, 3800.0, 10));
+        doThrow(new QueryTimeoutException("timed out"))
+                .when(calendarRepo).findByFromAirportIdAndToAirportIdAndTravelDate(any(), any(), any());
+
+        fareCalendar.flush();
+        assertTrue(fareCalendar.calendar("Kochi", "Chennai", DAY, DAY).isEmpty());
+
+        reset(calendarRepo);
+        fareCalendar.flush();
+        assertEquals(3800.0, fareCalendar.calendar("Kochi", "Chennai", DAY, DAY).get(0).getMinPrice());
+    }
+
+    private static InventoryRequestDto inventory(String flightNumber, LocalDate day, int hour, double price, int seats) {
+        InventoryRequestDto dto = new InventoryRequestDto();
+        dto.setAirlineName("CalendarAir");
+        dto.setAirlineLogo("https://calendarair/logo.png");
+        dto.setFlightNumber(flightNumber);
+        dto.setFromPlace("Kochi");
+        dto.setToPlace("Chennai");
+        dto.setDepartureTime(day.atTime(hour, 0));
+        dto.setArrivalTime(day.atTime(hour + 1, 30));
+        dto.setPrice(price);
+        dto.setTotalSeats(60);
+        dto.setAvailableSeats(seats);
+        return dto;
+    }
+
+    private static BookingRequestDto booking(String seat) {
+        PassengerDto passenger = new PassengerDto();
+        passenger.setName("Anil");
+        passenger.setGender("M");
+        passenger.setAge(40);
+        passenger.setSeatNumber(seat);
+        passenger.setMealOption("VEG");
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("calendar@gmail.com");
+        dto.setNumberOfSeats(1);
+        dto.setPassengers(List.of(passenger));
+        dto.setSeatNumbers(List.of(seat));
+        dto.setMealOption("VEG");
+        return dto;
+    }
+}
@@ -0,0 +1,50 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.flightapp.dto.CacheStatsDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.FlightRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FlightCacheTest {
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private EntityCacheStats entityCacheStats;
+
+    @AfterEach
+    void cleanup() {
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void findById_servedFromSecondLevelCache() {
+        flightRepo.save(Flight.builder().flightNumber("CA-101").airlineName("CacheAir").fromPlace("Delhi").toPlace("Goa").build());
+        CacheStatsDto before = entityCacheStats.stats(Flight.CACHE_REGION);
+
+        assertEquals("CacheAir", flightRepo.findById("CA-101").orElseThrow().getAirlineName());
+        assertEquals("CacheAir", flightRepo.findById("CA-101").orElseThrow().getAirlineName());
+
+        CacheStatsDto after = entityCacheStats.stats(Flight.CACHE_REGION);
+        assertTrue(after.getHits() - before.getHits() >= 1);
+        assertTrue(after.getSize() >= 1);
+    }
+
+    @Test
+    void bulkDelete_evictsRegion() {
+        flightRepo.save(Flight.builder().flightNumber("CA-202").airlineName("CacheAir").fromPlace("Pune").toPlace("Goa").build());
+        flightRepo.findById("CA-202");
+
+        flightRepo.deleteAllInBatch();
+
+        assertTrue(flightRepo.findById("CA-202").isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package com.flightapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRepo;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PnrGenerator pnrGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long flightId;
+    private Long flightId2;
+
+    @BeforeEach
+    void setup() {
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        flightRepo.deleteAll();
+
+        Flight flight = flightRepo.save(Flight.builder().flightNumber("6E-512").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
+        Flight flight2 = flightRepo.save(Flight.builder().flightNumber("6E-515").airlineName("IndiGo").fromPlace("Delhi").toPlace("Mumbai").build());
+        FlightInventory inv = inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
+                .departureTime(LocalDateTime.now().plusDays(2)).arrivalTime(LocalDateTime.now().plusDays(2).plusHours(2)).active(true).build());
+        FlightInventory inv2 = inventoryRepo.save(FlightInventory.builder().flight(flight2).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Mumbai")).price(4500.0).totalSeats(180).availableSeats(180)
+                .departureTime(LocalDateTime.now()).arrivalTime(LocalDateTime.now().plusHours(2)).active(true).build());
+
+        flightId = inv.getId();
+        flightId2 = inv2.getId();
+    }
+
+    @Test
+    void retryWithIdempotencyKey_replaysTicket() throws Exception {
+
+        BookingRequestDto dto = booking("retry@gmail.com", "15D");
+
+        String key = UUID.randomUUID().toString();
+        String first = mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String pnr = objectMapper.readTree(first).get("pnr").asText();
+
+        // reformatted, but the same request
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(dto)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.pnr").value(pnr))
+                .andExpect(jsonPath("$.passengers[0].seatNumber").value("15D"));
+        assertEquals(179, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId2).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void keyReusedWithDifferentBody_isRejected() throws Exception {
+
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(booking("reuse@gmail.com", "18A"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(booking("reuse@gmail.com", "18B"))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Idempotency-Key was already used for a different request"));
+        assertEquals(179, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void claimLeftIncomplete_recoversBookedTicket() throws Exception {
+
+        BookingRequestDto dto = booking("crash@gmail.com", "16D");
+
+        // the first attempt claimed the key and committed its booking, then died before completing the claim
+        String key = UUID.randomUUID().toString();
+        String pnr = pnrGenerator.next();
+        String requestHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsString(dto).getBytes(StandardCharsets.UTF_8)));
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> idempotencyRepo.claim(key, flightId, requestHash, pnr, now, now.plusMinutes(5)));
+        bookingService.bookTicket(flightId, dto, pnr);
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId).header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.pnr").value(pnr));
+        assertEquals(179, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+        assertTrue(idempotencyRepo.findById(key).orElseThrow().isCompleted());
+    }
+
+    private static BookingRequestDto booking(String email, String seat) {
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail(email);
+        dto.setNumberOfSeats(1);
+
+        PassengerDto p = new PassengerDto();
+        p.setName("Rohit");
+        p.setGender("M");
+        p.setAge(28);
+        p.setSeatNumber(seat);
+        p.setMealOption("VEG");
+        dto.setPassengers(List.of(p));
+        dto.setSeatNumbers(List.of(seat));
+        dto.setMealOption("Mix");
+        return dto;
+    }
+}
@@ -0,0 +1,50 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.LockStatsDto;
+import com.flightapp.exception.ServiceBusyException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryLockManagerTest {
+
+    @Test
+    void withLock_sameInventoryTimesOutWhileHeld() throws Exception {
+        InventoryLockManager lockManager = new InventoryLockManager(16, 50);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> owner = pool.submit(() -> lockManager.withLock(7L, () -> {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+            held.await();
+
+            assertThrows(ServiceBusyException.class, () -> lockManager.withLock(7L, () -> "blocked"));
+            assertEquals("other", lockManager.withLock(8L, () -> "other"));
+
+            release.countDown();
+            assertEquals("done", owner.get());
+        } finally {
+            pool.shutdown();
+        }
+
+        LockStatsDto stats = lockManager.stats();
+        assertEquals(2, stats.getAcquisitions());
+        assertEquals(1, stats.getTimeouts());
+        assertEquals(2, stats.getActiveStripes().size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.flightapp.FlightBookingAppApplication;
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.exception.ExceptionDueToSeat;
+import com.flightapp.exception.ServiceBusyException;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts two application contexts against the same database, as two nodes
+ * behind a load balancer would, and books every seat from both at once.
+ * Needs the shared MySQL database; run with -Dcluster=true.
+ */
+@EnabledIfSystemProperty(named = "cluster", matches = "true")
+class MultiNodeBookingTest {
+
+    private static final int TOTAL_SEATS = 60;
+    private static final int CLIENTS_PER_NODE = 16;
+
+    private ConfigurableApplicationContext nodeA;
+
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new SpringApplicationBuilder(FlightBookingAppApplication.class)
+                .run("--spring.main.web-application-type=none", "--flightapp.pnr.node-id=1");
+        nodeB = new SpringApplicationBuilder(FlightBookingAppApplication.class)
+                .run("--spring.main.web-application-type=none", "--flightapp.pnr.node-id=2",
+                        "--spring.jpa.hibernate.ddl-auto=none");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void bookingFromTwoNodes_neverOversells() throws Exception {
+        Flight flight = nodeA.getBean(FlightRepository.class).save(Flight.builder().flightNumber("MN-1")
+                .airlineName("ClusterAir").fromPlace("Pune").toPlace("Jaipur").build());
+        AirportRegistry airports = nodeA.getBean(AirportRegistry.class);
+        Long inventoryId = nodeA.getBean(FlightInventoryRepository.class).save(FlightInventory.builder().flight(flight)
+                .fromAirportId(airports.find("Pune")).toAirportId(airports.find("Jaipur"))
+                .price(2500.0).totalSeats(TOTAL_SEATS).availableSeats(TOTAL_SEATS)
+                .departureTime(LocalDateTime.now().plusDays(5)).arrivalTime(LocalDateTime.now().plusDays(5).plusHours(2))
+                .build()).getId();
+
+        List<String> seats = new ArrayList<>();
+        for (int row = 1; seats.size() < TOTAL_SEATS; row++) {
+            for (char letter = 'A'; letter <= 'F'; letter++) {
+                seats.add(row + String.valueOf(letter));
+            }
+        }
+
+        // every seat is requested once through each node, so exactly one of each pair may win
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS_PER_NODE * 2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (String seat : seats) {
+                for (ConfigurableApplicationContext node : List.of(nodeA, nodeB)) {
+                    BookingService bookingService = node.getBean(BookingService.class);
+                    results.add(pool.submit(() -> {
+                        try {
+                            bookingService.bookTicket(inventoryId, request(seat));
+                            return true;
+                        } catch (ExceptionDueToSeat | ServiceBusyException ex) {
+                            return false;
+                        }
+                    }));
+                }
+            }
+            int booked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    booked++;
+                }
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("%d attempts from two nodes: %d booked in %d ms (%.0f bookings/s)%n",
+                    results.size(), booked, millis, booked * 1000.0 / Math.max(1, millis));
+
+            int available = nodeA.getBean(FlightInventoryRepository.class).findById(inventoryId).orElseThrow().getAvailableSeats();
+            int assigned = nodeA.getBean(SeatAssignmentRepository.class).findSeatNumbersByInventoryId(inventoryId).size();
+            assertTrue(booked <= TOTAL_SEATS);
+            assertEquals(booked, assigned);
+            assertEquals(TOTAL_SEATS - booked, available);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static BookingRequestDto request(String seat) {
+        PassengerDto passenger = new PassengerDto();
+        passenger.setName("Kiran");
+        passenger.setGender("M");
+        passenger.setAge(35);
+        passenger.setSeatNumber(seat);
+        passenger.setMealOption("VEG");
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("cluster@gmail.com");
+        dto.setNumberOfSeats(1);
+        dto.setPassengers(List.of(passenger));
+        dto.setSeatNumbers(List.of(seat));
+        dto.setMealOption("VEG");
+        return dto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.repository.FlightRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PlaceAutocompleteTest {
+
+    @Test
+    void suggest_returnsSortedPrefixMatches() {
+        PlaceAutocomplete autocomplete = new PlaceAutocomplete(null, 10);
+        autocomplete.addAll(List.of("Mumbai", "Delhi", "Dehradun", "Chennai", "delhi ", "Darbhanga"));
+
+        assertEquals(List.of("Dehradun", "Delhi"), autocomplete.suggest("de", null));
+        assertEquals(List.of("Delhi"), autocomplete.suggest("  DELH", null));
+        assertEquals(List.of(), autocomplete.suggest("x", null));
+        assertEquals(List.of(), autocomplete.suggest(" ", null));
+    }
+
+    @Test
+    void suggest_capsLimit() {
+        PlaceAutocomplete autocomplete = new PlaceAutocomplete(null, 2);
+        autocomplete.addAll(List.of("Bagdogra", "Bengaluru", "Bhopal", "Bhubaneswar"));
+
+        assertEquals(List.of("Bagdogra"), autocomplete.suggest("b", 1));
+        assertEquals(List.of("Bagdogra", "Bengaluru"), autocomplete.suggest("b", 50));
+    }
+
+    @Test
+    void add_insertsIncrementally() {
+        PlaceAutocomplete autocomplete = new PlaceAutocomplete(null, 10);
+        autocomplete.addAll(List.of("Goa", "Pune"));
+
+        autocomplete.add("Guwahati");
+
+        assertEquals(List.of("Goa", "Guwahati"), autocomplete.suggest("g", null));
+    }
+
+    @Test
+    void load_swapsInTheStoredPlaces() {
+        FlightRepository flightRepo = mock(FlightRepository.class);
+        PlaceAutocomplete autocomplete = new PlaceAutocomplete(flightRepo, 10);
+        autocomplete.addAll(List.of("Goa", "Gaya"));
+        when(flightRepo.findDistinctPlaces()).thenReturn(List.of("Goa", "Guwahati"));
+
+        autocomplete.load();
+
+        assertEquals(List.of("Goa", "Guwahati"), autocomplete.suggest("g", null));
+    }
+
+    @Test
+    void load_keepsPlacesAddedWhileReading() {
+        FlightRepository flightRepo = mock(FlightRepository.class);
+        PlaceAutocomplete autocomplete = new PlaceAutocomplete(flightRepo, 10);
+        when(flightRepo.findDistinctPlaces()).thenAnswer(invocation -> {
+            autocomplete.add("Gaya");
+            return List.of("Goa");
+        });
+
+        autocomplete.load();
+
+        assertEquals(List.of("Gaya", "Goa"), autocomplete.suggest("g", null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PnrGeneratorTest {
+
+    @Test
+    void next_isUniqueAndWellFormed() {
+        PnrGenerator generator = new PnrGenerator(5, "test");
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            String pnr = generator.next();
+            assertTrue(pnr.matches("PNR[0-9A-HJKMNP-TV-Z]{10}"), pnr);
+            assertTrue(seen.add(pnr), "duplicate " + pnr);
+        }
+    }
+
+    @Test
+    void next_differsAcrossNodes() {
+        assertNotEquals(new PnrGenerator(1, "test").next(), new PnrGenerator(2, "test").next());
+    }
+
+    @Test
+    void next_hidesSequenceOrder() {
+        PnrGenerator generator = new PnrGenerator(5, "test");
+        String previous = generator.next();
+        int sharedPrefixes = 0;
+        for (int i = 0; i < 1000; i++) {
+            String pnr = generator.next();
+            if (pnr.regionMatches(0, previous, 0, 8)) {
+                sharedPrefixes++;
+            }
+            previous = pnr;
+        }
+        assertTrue(sharedPrefixes < 10, sharedPrefixes + " consecutive PNRs share a prefix");
+        assertNotEquals(new PnrGenerator(5, "one").next(), new PnrGenerator(5, "two").next());
+    }
+
+    @Test
+    void constructor_rejectsNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new PnrGenerator(128, "test"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.RouteFilterStatsDto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteFilterTest {
+
+    @Test
+    void serves_onlyKnownDirection() {
+        RouteFilter filter = new RouteFilter(null);
+        filter.add(1, 2);
+        filter.add(1, 2);
+
+        assertTrue(filter.serves(1, 2));
+        assertFalse(filter.serves(2, 1));
+        assertFalse(filter.serves(1, null));
+
+        RouteFilterStatsDto stats = filter.stats();
+        assertEquals(1, stats.getRoutes());
+        assertEquals(3, stats.getChecks());
+        assertEquals(2, stats.getRejections());
+    }
+
+    @Test
+    void add_keepsLargeIdsApart() {
+        RouteFilter filter = new RouteFilter(null);
+        filter.add(Integer.MAX_VALUE, 1);
+
+        assertTrue(filter.serves(Integer.MAX_VALUE, 1));
+        assertFalse(filter.serves(1, Integer.MAX_VALUE));
+        assertFalse(filter.serves(Integer.MAX_VALUE, 0));
+    }
+}
@@ -0,0 +1,126 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.ConnectingSearchRequestDto;
+import com.flightapp.dto.ItineraryDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.FlightInventoryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RouteGraphTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(5);
+
+    private static final Map<String, Integer> AIRPORTS = Map.of("Delhi", 1, "Mumbai", 2, "Jaipur", 3, "Pune", 4, "Goa", 5, "Hubli", 6);
+
+    private long nextId = 1;
+
+    @Test
+    void search_findsDirectAndOneStopRespectingConnectionTime() {
+        RouteGraph graph = new RouteGraph(null, 45, 24, 50);
+        graph.add(leg("Delhi", "Mumbai", 8, 0, 10, 0, 9000));
+        graph.add(leg("Delhi", "Jaipur", 6, 0, 7, 0, 2000));
+        graph.add(leg("Jaipur", "Mumbai", 7, 30, 9, 0, 2500));
+        graph.add(leg("Jaipur", "Mumbai", 8, 0, 9, 30, 3000));
+
+        List<ItineraryDto> byDuration = search(graph, "Delhi", "Mumbai", 1, "DURATION");
+
+        assertEquals(2, byDuration.size());
+        assertEquals(0, byDuration.get(0).getStops());
+        assertEquals(120, byDuration.get(0).getDurationMinutes());
+        assertEquals(1, byDuration.get(1).getStops());
+        assertEquals("Jaipur", byDuration.get(1).getLegs().get(0).getToPlace());
+        assertEquals(5000.0, byDuration.get(1).getTotalPrice());
+
+        List<ItineraryDto> byPrice = search(graph, "Delhi", "Mumbai", 1, "PRICE");
+        assertEquals(1, byPrice.get(0).getStops());
+
+        assertEquals(1, search(graph, "Delhi", "Mumbai", 0, "PRICE").size());
+    }
+
+    @Test
+    void search_skipsSoldOutAndRemovedDepartures() {
+        RouteGraph graph = new RouteGraph(null, 45, 24, 50);
+        FlightInventory direct = leg("Pune", "Goa", 9, 0, 10, 0, 4000);
+        FlightInventory first = leg("Pune", "Hubli", 6, 0, 7, 0, 1500);
+        graph.add(direct);
+        graph.add(first);
+        graph.add(leg("Hubli", "Goa", 8, 0, 8, 45, 1200));
+
+        graph.adjustSeats(first.getId(), -10);
+        assertEquals(1, search(graph, "Pune", "Goa", 1, "PRICE").size());
+
+        graph.adjustSeats(first.getId(), 1);
+        graph.remove(List.of(direct.getId()));
+        List<ItineraryDto> found = search(graph, "Pune", "Goa", 1, "PRICE");
+        assertEquals(1, found.size());
+        assertEquals(1, found.get(0).getStops());
+    }
+
+    @Test
+    void search_neverConnectsFasterThanConfiguredMinimum() {
+        RouteGraph graph = new RouteGraph(null, 45, 24, 50);
+        graph.add(leg("Delhi", "Jaipur", 6, 0, 7, 0, 2000));
+        graph.add(leg("Jaipur", "Mumbai", 7, 15, 8, 45, 2500));
+
+        ConnectingSearchRequestDto dto = request("Delhi", "Mumbai", 1, "PRICE");
+        dto.setMinConnectionMinutes(10);
+        assertTrue(graph.search(AIRPORTS.get("Delhi"), AIRPORTS.get("Mumbai"), dto).isEmpty());
+
+        dto.setMinConnectionMinutes(90);
+        graph.add(leg("Jaipur", "Mumbai", 8, 0, 9, 30, 3000));
+        assertTrue(graph.search(AIRPORTS.get("Delhi"), AIRPORTS.get("Mumbai"), dto).isEmpty());
+    }
+
+    @Test
+    void load_dropsDeparturesNoLongerInDatabase() {
+        FlightInventoryRepository repo = mock(FlightInventoryRepository.class);
+        RouteGraph graph = new RouteGraph(repo, 45, 24, 50);
+        FlightInventory kept = leg("Pune", "Goa", 9, 0, 10, 0, 4000);
+        FlightInventory dropped = leg("Pune", "Goa", 12, 0, 13, 0, 3500);
+        graph.add(kept);
+        graph.add(dropped);
+        kept.setAvailableSeats(0);
+        when(repo.findActiveDepartingAfter(any())).thenReturn(List.of(kept));
+
+        graph.load();
+
+        assertTrue(search(graph, "Pune", "Goa", 0, "PRICE").isEmpty());
+        kept.setAvailableSeats(3);
+        graph.add(kept);
+        assertEquals(kept.getId(), search(graph, "Pune", "Goa", 0, "PRICE").get(0).getLegs().get(0).getInventoryId());
+        assertEquals(1, search(graph, "Pune", "Goa", 0, "PRICE").size());
+    }
+
+    private FlightInventory leg(String from, String to, int depHour, int depMinute, int arrHour, int arrMinute, double price) {
+        Flight flight = Flight.builder().flightNumber("RG-" + nextId).airlineName("GraphAir").fromPlace(from).toPlace(to).build();
+        LocalDateTime departure = DAY.atTime(depHour, depMinute);
+        return FlightInventory.builder().id(nextId++).flight(flight).fromPlace(from).toPlace(to)
+                .fromAirportId(AIRPORTS.get(from)).toAirportId(AIRPORTS.get(to)).departureTime(departure)
+                .arrivalTime(DAY.atTime(arrHour, arrMinute)).price(price).totalSeats(10).availableSeats(10).build();
+    }
+
+    private static List<ItineraryDto> search(RouteGraph graph, String from, String to, int maxStops, String sortBy) {
+        return graph.search(AIRPORTS.get(from), AIRPORTS.get(to), request(from, to, maxStops, sortBy));
+    }
+
+    private static ConnectingSearchRequestDto request(String from, String to, int maxStops, String sortBy) {
+        ConnectingSearchRequestDto dto = new ConnectingSearchRequestDto();
+        dto.setFromPlace(from);
+        dto.setToPlace(to);
+        dto.setJourneyDate(DAY);
+        dto.setMaxStops(maxStops);
+        dto.setSortBy(sortBy);
+        return dto;
+    }
+}
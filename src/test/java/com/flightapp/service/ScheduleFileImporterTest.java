@@ -0,0 +1,126 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.flightapp.dto.ImportReportDto;
+import com.flightapp.dto.InventoryRequestDto;
+import com.flightapp.dto.InventoryRowResultDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+
+class ScheduleFileImporterTest {
+
+    private static final String LINE = "IndiGo|6E-512|Delhi|Mumbai|2030-01-15T06:30|2030-01-15T08:45|4500.50|180|180\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parse_readsAllFields() {
+        ByteBuffer buffer = ByteBuffer.wrap(LINE.getBytes(StandardCharsets.US_ASCII));
+        ScheduleLineParser parser = new ScheduleLineParser();
+
+        InventoryRequestDto dto = parser.parse(buffer, 0, LINE.length() - 1);
+
+        assertEquals("IndiGo", dto.getAirlineName());
+        assertEquals("6E-512", dto.getFlightNumber());
+        assertEquals("Delhi", dto.getFromPlace());
+        assertEquals("Mumbai", dto.getToPlace());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 6, 30), dto.getDepartureTime());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 8, 45), dto.getArrivalTime());
+        assertEquals(4500.5, dto.getPrice());
+        assertEquals(180, dto.getTotalSeats());
+        assertSame(dto.getFromPlace(), parser.parse(buffer, 0, LINE.length() - 1).getFromPlace());
+    }
+
+    @Test
+    void parse_rejectsMissingFields() {
+        String line = "IndiGo|6E-512|Delhi";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleLineParser().parse(buffer, 0, line.length()));
+    }
+
+    @Test
+    void parse_rejectsWrongDateTimeSeparators() {
+        ScheduleLineParser parser = new ScheduleLineParser();
+        for (String departure : List.of("2030/01/15T06:30", "2030-01-15 06:30", "2030-01-15T06.30", "2030-01-15T06:30.00")) {
+            String line = "IndiGo|6E-512|Delhi|Mumbai|" + departure + "|2030-01-15T08:45|4500.50|180|180";
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+
+            assertThrows(IllegalArgumentException.class, () -> parser.parse(buffer, 0, line.length()), departure);
+        }
+    }
+
+    @Test
+    void importFile_writesBatchesAndCountsRows() throws Exception {
+        Path file = dir.resolve("schedule.txt");
+        Files.writeString(file, "# airline|flight|from|to|departure|arrival|price|total|available\n"
+                + LINE.repeat(5) + "broken line\n" + LINE.trim());
+
+        FlightInventoryService inventoryService = Mockito.mock(FlightInventoryService.class);
+        Mockito.when(inventoryService.addInventoryBulk(anyList())).thenAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(0);
+            return rows.stream().map(row -> new InventoryRowResultDto(0, "CREATED", 1L, null)).toList();
+        });
+        ScheduleFileImporter importer = new ScheduleFileImporter(inventoryService, dir.toString(), 2);
+
+        ImportReportDto report = importer.importFile("schedule.txt");
+
+        assertEquals(7, report.getRows());
+        assertEquals(6, report.getCreated());
+        assertEquals(1, report.getInvalid());
+        assertFalse(Files.exists(dir.resolve("schedule.txt.checkpoint")));
+        Mockito.verify(inventoryService, Mockito.times(3)).addInventoryBulk(anyList());
+    }
+
+    @Test
+    void importFile_resumesFromCheckpoint() throws Exception {
+        Path file = dir.resolve("schedule.txt");
+        Files.writeString(file, LINE.repeat(3));
+        Files.writeString(dir.resolve("schedule.txt.checkpoint"),
+                LINE.length() * 2 + " " + Files.size(file) + " " + Files.getLastModifiedTime(file).toMillis());
+
+        FlightInventoryService inventoryService = Mockito.mock(FlightInventoryService.class);
+        Mockito.when(inventoryService.addInventoryBulk(anyList()))
+                .thenReturn(List.of(new InventoryRowResultDto(0, "DUPLICATE", null, null)));
+        ScheduleFileImporter importer = new ScheduleFileImporter(inventoryService, dir.toString(), 10);
+
+        ImportReportDto report = importer.importFile("schedule.txt");
+
+        assertEquals(1, report.getRows());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(LINE.length() * 2, report.getResumedFromOffset());
+    }
+
+    @Test
+    void importFile_ignoresCheckpointOfAnotherFile() throws Exception {
+        Path file = dir.resolve("schedule.txt");
+        Files.writeString(file, LINE.repeat(3));
+        Files.writeString(dir.resolve("schedule.txt.checkpoint"),
+                LINE.length() * 2 + " " + (Files.size(file) - 1) + " " + Files.getLastModifiedTime(file).toMillis());
+
+        FlightInventoryService inventoryService = Mockito.mock(FlightInventoryService.class);
+        Mockito.when(inventoryService.addInventoryBulk(anyList())).thenAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(0);
+            return rows.stream().map(row -> new InventoryRowResultDto(0, "CREATED", 1L, null)).toList();
+        });
+        ScheduleFileImporter importer = new ScheduleFileImporter(inventoryService, dir.toString(), 10);
+
+        ImportReportDto report = importer.importFile("schedule.txt");
+
+        assertEquals(3, report.getRows());
+        assertEquals(3, report.getCreated());
+        assertEquals(0, report.getResumedFromOffset());
+    }
+}
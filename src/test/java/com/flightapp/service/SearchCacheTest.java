@@ -0,0 +1,144 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.CacheStatsDto;
+import com.flightapp.dto.FlightSearchResultDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    private static final int DELHI = 1;
+    private static final int MUMBAI = 2;
+    private static final int GOA = 3;
+    private static final int PUNE = 4;
+
+    @Test
+    void get_loadsOnceThenHits() {
+        SearchCache cache = new SearchCache(10, 60);
+        int[] loads = {0};
+
+        cache.get(DELHI, MUMBAI, DAY, () -> { loads[0]++; return List.of(); });
+        cache.get(DELHI, MUMBAI, DAY, () -> { loads[0]++; return List.of(); });
+
+        CacheStatsDto stats = cache.stats();
+        assertEquals(1, loads[0]);
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsed() {
+        SearchCache cache = new SearchCache(2, 60);
+
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+        cache.get(DELHI, GOA, DAY, List::of);
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+        cache.get(DELHI, PUNE, DAY, List::of);
+
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(2, cache.stats().getSize());
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    @Test
+    void adjustSeats_updatesCachedCopy() {
+        SearchCache cache = new SearchCache(10, 60);
+        FlightSearchResultDto row = new FlightSearchResultDto(7L, "6E-512", "IndiGo", "Delhi", "Mumbai", null, null, 4500.0, 180);
+        cache.get(DELHI, MUMBAI, DAY, () -> List.of(row));
+
+        cache.adjustSeats(DELHI, MUMBAI, DAY, 7L, -2);
+
+        List<FlightSearchResultDto> cached = cache.get(DELHI, MUMBAI, DAY, List::of);
+        assertEquals(178, cached.get(0).getAvailableSeats());
+        assertEquals(180, row.getAvailableSeats());
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        SearchCache cache = new SearchCache(10, 60);
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+
+        cache.invalidate(DELHI, MUMBAI, DAY);
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+
+        assertEquals(2, cache.stats().getMisses());
+    }
+
+    @Test
+    void invalidateDuringLoad_dropsLoadedRows() {
+        SearchCache cache = new SearchCache(10, 60);
+
+        cache.get(DELHI, MUMBAI, DAY, () -> {
+            cache.invalidate(DELHI, MUMBAI, DAY);
+            return List.of();
+        });
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+
+        assertEquals(2, cache.stats().getMisses());
+    }
+
+    @Test
+    void get_reloadsAfterTtl() {
+        SearchCache cache = new SearchCache(10, 0);
+
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+
+        assertEquals(0, cache.stats().getHits());
+        assertEquals(2, cache.stats().getMisses());
+    }
+
+    @Test
+    void concurrentMisses_shareOneLoad() throws Exception {
+        SearchCache cache = new SearchCache(10, 60);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<FlightSearchResultDto>> first = CompletableFuture.supplyAsync(() -> cache.get(DELHI, MUMBAI, DAY, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<FlightSearchResultDto>> second = CompletableFuture.supplyAsync(() -> cache.get(DELHI, MUMBAI, DAY, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        }));
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    void failedLoad_isNotCached() {
+        SearchCache cache = new SearchCache(10, 60);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(DELHI, MUMBAI, DAY, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        cache.get(DELHI, MUMBAI, DAY, List::of);
+
+        assertEquals(2, cache.stats().getMisses());
+        assertEquals(1, cache.stats().getSize());
+    }
+}
@@ -0,0 +1,128 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.flightapp.dto.FlightSearchResultDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seeds a year of schedules and compares the indexed route query with the old
+ * join through flights. Run with -Dbenchmark=true against the MySQL instance
+ * the numbers are meant for; the report names the database it ran on.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SearchQueryBenchmarkTest {
+
+    private static final String[] PLACES = {"Delhi", "Mumbai", "Bengaluru", "Chennai", "Kolkata", "Hyderabad"};
+    private static final int DEPARTURES_PER_DAY = 4;
+    private static final int SEARCHES = 500;
+
+    private static final String LEGACY_QUERY = "select fi from FlightInventory fi where fi.flight.fromPlace = :from "
+            + "and fi.flight.toPlace = :to and fi.departureTime between :start and :end";
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanup() {
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void searchLatency_indexedRouteVsFlightJoin() throws SQLException {
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        seedYear(firstDay);
+
+        long legacyNanos = 0;
+        long indexedNanos = 0;
+        for (int i = 0; i < SEARCHES; i++) {
+            String from = PLACES[i % PLACES.length];
+            String to = PLACES[(i + 1) % PLACES.length];
+            LocalDate day = firstDay.plusDays(i % 365);
+
+            long start = System.nanoTime();
+            List<FlightInventory> legacy = entityManager.createQuery(LEGACY_QUERY, FlightInventory.class)
+                    .setParameter("from", from).setParameter("to", to)
+                    .setParameter("start", day.atStartOfDay()).setParameter("end", day.atTime(23, 59, 59))
+                    .getResultList();
+            legacyNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<FlightSearchResultDto> indexed = inventoryRepo.findByRouteAndDepartureTimeBetween(airports.find(from), airports.find(to),
+                    day.atStartOfDay(), day.atTime(23, 59, 59));
+            indexedNanos += System.nanoTime() - start;
+
+            assertEquals(legacy.size(), indexed.size());
+            entityManager.clear();
+        }
+
+        String database;
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            database = meta.getDatabaseProductName() + " " + meta.getDatabaseProductVersion();
+        }
+        System.out.printf("%s, search over %d rows: flight join avg %.1f us, indexed route avg %.1f us%n",
+                database, inventoryRepo.count(), legacyNanos / 1000.0 / SEARCHES, indexedNanos / 1000.0 / SEARCHES);
+    }
+
+    private void seedYear(LocalDate firstDay) {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < PLACES.length; i++) {
+            for (int j = 0; j < PLACES.length; j++) {
+                if (i != j) {
+                    flights.add(Flight.builder().flightNumber("BM-" + i + j).airlineName("BenchAir")
+                            .fromPlace(PLACES[i]).toPlace(PLACES[j]).build());
+                }
+            }
+        }
+        flights = flightRepo.saveAll(flights);
+
+        for (int day = 0; day < 365; day++) {
+            List<FlightInventory> batch = new ArrayList<>();
+            for (Flight flight : flights) {
+                for (int d = 0; d < DEPARTURES_PER_DAY; d++) {
+                    LocalDateTime departure = firstDay.plusDays(day).atTime(6 + d * 4, 0);
+                    batch.add(FlightInventory.builder().flight(flight).fromAirportId(airports.find(flight.getFromPlace()))
+                            .toAirportId(airports.find(flight.getToPlace())).departureTime(departure)
+                            .arrivalTime(departure.plusHours(2)).price(4500.0).totalSeats(180).availableSeats(180).build());
+                }
+            }
+            inventoryRepo.saveAll(batch);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.flightapp.dto.BookingRequestDto;
+import com.flightapp.dto.PassengerDto;
+import com.flightapp.dto.SeatHoldDto;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightInventory;
+import com.flightapp.entity.SeatHold;
+import com.flightapp.exception.ExceptionDueToSeat;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightInventoryRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatAssignmentRepository;
+import com.flightapp.repository.SeatHoldRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeatHoldServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AirportRegistry airports;
+
+    @Autowired
+    private FlightRepository flightRepo;
+
+    @Autowired
+    private FlightInventoryRepository inventoryRepo;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private SeatAssignmentRepository seatAssignmentRepo;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepo;
+
+    @MockitoSpyBean
+    private PnrGenerator pnrGenerator;
+
+    private Long flightId;
+
+    @BeforeEach
+    void setup() {
+        Flight flight = flightRepo.save(Flight.builder().flightNumber("SH-101").airlineName("HoldAir").fromPlace("Delhi").toPlace("Goa").build());
+        LocalDateTime departure = LocalDateTime.now().plusDays(3);
+        flightId = inventoryRepo.save(FlightInventory.builder().flight(flight).fromAirportId(airports.find("Delhi")).toAirportId(airports.find("Goa"))
+                .price(3900.0).totalSeats(60).availableSeats(60).departureTime(departure).arrivalTime(departure.plusHours(2)).build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        seatHoldRepo.deleteAllInBatch();
+        seatAssignmentRepo.deleteAllInBatch();
+        bookingRepo.deleteAll();
+        inventoryRepo.deleteAllInBatch();
+        flightRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void hold_blocksBooking_thenConfirm() throws Exception {
+        BookingRequestDto dto = booking("9B");
+
+        String holdResponse = mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"9b\"]}"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.expiresAt").exists())
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResponse).get("holdId").asText();
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound()).andExpect(jsonPath("$.error").value("Seat 9B is already booked"));
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + holdId + "/confirm")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.passengers[0].seatNumber").value("9B"));
+        assertEquals(59, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + holdId + "/confirm")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void failedConfirm_keepsHold() throws Exception {
+        BookingRequestDto dto = booking("11A");
+        String taken = bookingService.bookTicket(flightId, booking("11B")).getPnr();
+
+        String holdResponse = mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"11A\"]}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResponse).get("holdId").asText();
+
+        // every attempt collides, so the booking transaction rolls back after the hold was claimed
+        doReturn(taken).when(pnrGenerator).next();
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.confirmHold(holdId, dto));
+        doCallRealMethod().when(pnrGenerator).next();
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + holdId + "/confirm")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.passengers[0].seatNumber").value("11A"));
+        assertEquals(58, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void release_freesSeat() throws Exception {
+        String holdResponse = mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"10C\"]}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResponse).get("holdId").asText();
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"10C\"]}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/v1.0/flight/booking/hold/" + holdId)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/hold/" + flightId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"seatNumbers\":[\"10C\"]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void hold_isSeenByNodesWithOtherSeatMaps() {
+        seatHoldService.hold(flightId, List.of("4c"));
+        assertEquals(59, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+
+        // another node's seat map never saw the hold, only the database did
+        seatMapService.evict(flightId);
+
+        assertThrows(ExceptionDueToSeat.class, () -> bookingService.bookTicket(flightId, booking("4C")));
+        assertEquals(59, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void sweep_expiresHoldsLeftBehind() {
+        SeatHoldDto hold = seatHoldService.hold(flightId, List.of("5A", "5B"));
+        SeatHold stored = seatHoldRepo.findById(hold.getHoldId()).orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        seatHoldRepo.save(stored);
+
+        seatHoldService.sweepExpired();
+
+        assertFalse(seatHoldRepo.existsById(hold.getHoldId()));
+        assertEquals(60, inventoryRepo.findById(flightId).orElseThrow().getAvailableSeats());
+        assertNotNull(bookingService.bookTicket(flightId, booking("5A")).getPnr());
+    }
+
+    private static BookingRequestDto booking(String seat) {
+        PassengerDto passenger = new PassengerDto();
+        passenger.setName("Kavya");
+        passenger.setGender("F");
+        passenger.setAge(29);
+        passenger.setSeatNumber(seat);
+        passenger.setMealOption("VEG");
+
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEmail("hold@gmail.com");
+        dto.setNumberOfSeats(1);
+        dto.setPassengers(List.of(passenger));
+        dto.setSeatNumbers(List.of(seat));
+        dto.setMealOption("VEG");
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.exception.ExceptionDueToSeat;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void indexOf_mapsRowAndLetter() {
+        assertEquals(0, SeatMap.indexOf("1A"));
+        assertEquals(11 * 26 + 2, SeatMap.indexOf("12C"));
+        assertEquals(SeatMap.indexOf("12C"), SeatMap.indexOf("12c"));
+        assertEquals(-1, SeatMap.indexOf("A1"));
+        assertEquals(-1, SeatMap.indexOf("0A"));
+        assertEquals(-1, SeatMap.indexOf("1234A"));
+    }
+
+    @Test
+    void reserve_thenConflict() {
+        SeatMap seatMap = SeatMap.of(List.of("1A"));
+        seatMap.reserve(List.of("12C", "40K"));
+
+        assertTrue(seatMap.isTaken("40K"));
+        ExceptionDueToSeat ex = assertThrows(ExceptionDueToSeat.class, () -> seatMap.reserve(List.of("2B", "12C")));
+        assertEquals("Seat 12C is already booked", ex.getMessage());
+        assertFalse(seatMap.isTaken("2B"));
+    }
+
+    @Test
+    void reserve_duplicateInRequestLeavesNothingTaken() {
+        SeatMap seatMap = new SeatMap();
+
+        assertThrows(ExceptionDueToSeat.class, () -> seatMap.reserve(List.of("3A", "3B", "3A")));
+        assertFalse(seatMap.isTaken("3A"));
+        assertFalse(seatMap.isTaken("3B"));
+    }
+
+    @Test
+    void release_freesSeat() {
+        SeatMap seatMap = SeatMap.of(List.of("7D"));
+        seatMap.release(List.of("7D"));
+
+        assertFalse(seatMap.isTaken("7D"));
+        seatMap.reserve(List.of("7D"));
+        assertTrue(seatMap.isTaken("7D"));
+    }
+}